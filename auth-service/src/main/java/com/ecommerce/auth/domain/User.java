@@ -1,5 +1,6 @@
 package com.ecommerce.auth.domain;
 
+import com.ecommerce.auth.infrastructure.persistence.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,8 +20,8 @@ import java.util.UUID;
 public class User {
 
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedValue(generator = "UUIDv7")
+    @GenericGenerator(name = "UUIDv7", type = UuidV7Generator.class)
     private UUID id;
 
     @Column(unique = true, nullable = false)
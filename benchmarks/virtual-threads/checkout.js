@@ -0,0 +1,50 @@
+// Carga de checkout contra order-service: cada iteración crea una orden (product-service
+// bloqueante + JPA) y la vuelve a leer. Variables: BASE_URL, TOKEN, PRODUCT_IDS (separados por
+// coma; cada iteración elige uno al azar), MAX_VUS
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8083';
+const TOKEN = __ENV.TOKEN;
+const PRODUCT_IDS = (__ENV.PRODUCT_IDS || __ENV.PRODUCT_ID || '').split(',')
+    .map((id) => id.trim())
+    .filter((id) => id.length > 0);
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '2000', 10);
+
+export const options = {
+    scenarios: {
+        checkout: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: Math.floor(MAX_VUS / 4) },
+                { duration: '1m', target: MAX_VUS },
+                { duration: '1m', target: MAX_VUS },
+                { duration: '30s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const headers = {
+    Authorization: `Bearer ${TOKEN}`,
+    'Content-Type': 'application/json',
+};
+
+export default function () {
+    const productId = PRODUCT_IDS[Math.floor(Math.random() * PRODUCT_IDS.length)];
+    const created = http.post(`${BASE_URL}/api/orders`, JSON.stringify({
+        items: [{ productId, quantity: 1 }],
+        shippingAddress: 'Benchmark 123',
+    }), { headers, tags: { name: 'create-order' } });
+
+    if (!check(created, { 'order created': (r) => r.status === 201 })) {
+        return;
+    }
+
+    const order = http.get(`${BASE_URL}/api/orders/${created.json('id')}`,
+        { headers, tags: { name: 'get-order' } });
+    check(order, { 'order read': (r) => r.status === 200 });
+}
@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Compara hilos de plataforma (por defecto, Java 17) con el perfil virtual-threads (Java 21)
+# ejecutando el mismo escenario de checkout contra cada variante.
+#
+# Requisitos: docker compose, un JWT válido de un usuario y varios productos con stock de sobra
+# (la carga se reparte entre ellos para no medir la contención de una sola fila).
+#   TOKEN=<jwt> PRODUCT_IDS=<uuid>,<uuid>,... [MAX_VUS=2000] ./benchmarks/virtual-threads/run.sh
+#
+# El bulkhead del cliente de product-service se sube para el benchmark (docker-compose.bench.yml);
+# PRODUCT_CLIENT_MAX_CONCURRENT_CALLS permite fijar otro valor.
+#
+# Los resúmenes quedan en benchmarks/virtual-threads/results-{platform,virtual}.json
+set -euo pipefail
+
+: "${TOKEN:?TOKEN is required}"
+# PRODUCT_ID (uno solo) se sigue aceptando por compatibilidad
+PRODUCT_IDS="${PRODUCT_IDS:-${PRODUCT_ID:-}}"
+: "${PRODUCT_IDS:?PRODUCT_IDS is required}"
+MAX_VUS="${MAX_VUS:-2000}"
+
+cd "$(dirname "$0")/../.."
+BENCH_DIR="benchmarks/virtual-threads"
+SERVICES="auth-service product-service order-service notification-service"
+
+# Espera a que el servicio esté UP (200), no solo a que acepte conexiones: un 503 significa que
+# todavía no tiene la base de datos lista. El health exige autenticación, por eso va el token
+wait_for_health() {
+    local name="$1" port="$2"
+    for _ in $(seq 1 120); do
+        if [ "$(curl -s -o /dev/null -w '%{http_code}' -H "Authorization: Bearer $TOKEN" \
+                "http://localhost:$port/actuator/health")" = "200" ]; then
+            return 0
+        fi
+        sleep 2
+    done
+    echo "$name did not become healthy" >&2
+    exit 1
+}
+
+for mode in platform virtual; do
+    files="-f docker-compose.yml -f $BENCH_DIR/docker-compose.bench.yml"
+    if [ "$mode" = "virtual" ]; then
+        files="$files -f docker-compose.virtual-threads.yml"
+    fi
+
+    echo "== $mode threads"
+    docker compose $files up -d --build $SERVICES
+    wait_for_health product-service 8082
+    wait_for_health order-service 8083
+
+    docker run --rm --network host \
+        -e TOKEN="$TOKEN" -e PRODUCT_IDS="$PRODUCT_IDS" -e MAX_VUS="$MAX_VUS" \
+        -v "$PWD/$BENCH_DIR:/scripts" \
+        grafana/k6 run --summary-export "/scripts/results-$mode.json" /scripts/checkout.js
+
+    docker compose $files stop $SERVICES
+done
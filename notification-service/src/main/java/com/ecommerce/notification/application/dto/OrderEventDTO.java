@@ -14,6 +14,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderEventDTO {
+    private String eventId; // ID de la fila del outbox de order-service, igual en cada reenvío
     private Long orderId;
     private Long userId;
     private String userEmail;
@@ -29,6 +29,21 @@ public class AuditService {
             String details,
             String previousState,
             String newState) {
+        return createAuditLog(entityType, entityId, userId, username, action, details, previousState, newState,
+                null);
+    }
+
+    @Transactional
+    public AuditLog createAuditLog(
+            String entityType,
+            Long entityId,
+            Long userId,
+            String username,
+            AuditLog.Action action,
+            String details,
+            String previousState,
+            String newState,
+            String eventId) {
 
         AuditLog auditLog = AuditLog.builder()
                 .entityType(entityType)
@@ -39,6 +54,7 @@ public class AuditService {
                 .details(details)
                 .previousState(previousState)
                 .newState(newState)
+                .eventId(eventId)
                 .build();
 
         auditLog = auditLogRepository.save(auditLog);
@@ -47,6 +63,10 @@ public class AuditService {
         return auditLog;
     }
 
+    public boolean isProcessed(String eventId) {
+        return eventId != null && auditLogRepository.existsByEventId(eventId);
+    }
+
     public List<AuditLogDTO> getEntityHistory(String entityType, Long entityId) {
         return auditLogRepository.findEntityHistory(entityType, entityId)
                 .stream()
@@ -30,6 +30,14 @@ public class KafkaConsumerService {
 
             OrderEventDTO orderEvent = objectMapper.readValue(message, OrderEventDTO.class);
 
+            // El outbox de order-service entrega al menos una vez: si el evento ya tiene su registro
+            // de auditoría, es un reenvío y no se vuelve a auditar ni a mandar el email
+            if (auditService.isProcessed(orderEvent.getEventId())) {
+                acknowledgment.acknowledge();
+                log.info("Skipping duplicate order event {}", orderEvent.getEventId());
+                return;
+            }
+
             // Create audit log
             createOrderAuditLog(orderEvent);
 
@@ -69,7 +77,8 @@ public class KafkaConsumerService {
                 action,
                 details,
                 null,
-                orderEvent.getStatus());
+                orderEvent.getStatus(),
+                orderEvent.getEventId());
     }
 
     private void sendOrderNotification(OrderEventDTO orderEvent) {
@@ -13,6 +13,8 @@ import java.time.LocalDateTime;
         @Index(name = "idx_entity_type_id", columnList = "entityType,entityId"),
         @Index(name = "idx_user_id", columnList = "userId"),
         @Index(name = "idx_timestamp", columnList = "timestamp")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_audit_logs_event_id", columnNames = "eventId")
 })
 @Data
 @Builder
@@ -51,6 +53,9 @@ public class AuditLog {
 
     private String userAgent;
 
+    // Evento de Kafka que generó el registro; evita procesar dos veces una entrega repetida
+    private String eventId;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime timestamp;
 
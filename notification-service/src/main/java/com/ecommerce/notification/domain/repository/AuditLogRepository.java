@@ -21,6 +21,8 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
     List<AuditLog> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
 
+    boolean existsByEventId(String eventId);
+
     @Query("SELECT a FROM AuditLog a WHERE a.entityType = :entityType AND a.entityId = :entityId ORDER BY a.timestamp DESC")
     List<AuditLog> findEntityHistory(@Param("entityType") String entityType, @Param("entityId") Long entityId);
 
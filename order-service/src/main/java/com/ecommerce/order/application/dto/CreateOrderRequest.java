@@ -15,6 +15,7 @@ import java.util.List;
 @AllArgsConstructor
 public class CreateOrderRequest {
     @NotEmpty(message = "Order must have at least one item")
+    @Size(max = 500, message = "Order cannot have more than 500 items")
     @Valid
     private List<OrderItemRequest> items;
 
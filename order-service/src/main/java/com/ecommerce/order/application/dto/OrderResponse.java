@@ -21,4 +21,7 @@ public class OrderResponse {
     private String notes;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Aceptación asíncrona: true mientras la orden espera validación y reserva de stock
+    private Boolean processing;
+    private String failureReason;
 }
@@ -0,0 +1,14 @@
+package com.ecommerce.order.application.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+public class ProductChangedEventDTO {
+    private UUID id;
+    private BigDecimal price;
+    private Integer stock;
+    private String status;
+    private long version;
+}
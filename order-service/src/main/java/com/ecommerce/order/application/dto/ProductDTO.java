@@ -17,4 +17,5 @@ public class ProductDTO {
     private String imageUrl;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -0,0 +1,12 @@
+package com.ecommerce.order.application.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class StockReservationDTO {
+    private UUID id;
+    private String status;
+    private LocalDateTime expiresAt;
+}
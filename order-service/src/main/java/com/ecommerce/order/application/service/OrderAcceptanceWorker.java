@@ -0,0 +1,248 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.dto.CreateOrderRequest;
+import com.ecommerce.order.application.dto.OrderItemRequest;
+import com.ecommerce.order.application.dto.ProductDTO;
+import com.ecommerce.order.application.dto.StockReservationDTO;
+import com.ecommerce.order.domain.model.Order;
+import com.ecommerce.order.domain.model.OrderItem;
+import com.ecommerce.order.domain.model.OrderStatus;
+import com.ecommerce.order.domain.repository.OrderRepository;
+import com.ecommerce.order.infrastructure.client.ProductServiceClient;
+import com.ecommerce.order.infrastructure.exception.ProductNotAvailableException;
+import com.ecommerce.order.infrastructure.security.JwtTokenProvider;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Completa en segundo plano las órdenes aceptadas con 202: valida productos, reserva stock y
+// guarda los items. La cola es acotada; lo que no entra (o queda a medias por un reinicio) lo
+// recoge recover() a partir de las órdenes pendientes en la base de datos
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderAcceptanceWorker {
+    private final OrderRepository orderRepository;
+    private final ProductServiceClient productServiceClient;
+    private final OrderEventPublisher orderEventPublisher;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${orders.async.workers:8}")
+    private int workers;
+
+    @Value("${orders.async.queue-capacity:1000}")
+    private int queueCapacity;
+
+    // Un reclamo más viejo que esto se considera abandonado y la orden se vuelve a intentar
+    @Value("${orders.async.claim-timeout-ms:60000}")
+    private long claimTimeoutMs;
+
+    @Value("${orders.async.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${orders.async.recovery-batch-size:100}")
+    private int recoveryBatchSize;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "order-acceptance-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // Encola la orden solo si la transacción que la guardó llega a commit
+    public void submitAfterCommit(UUID orderId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(orderId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${orders.async.recovery-interval-ms:5000}")
+    public void recover() {
+        LocalDateTime before = LocalDateTime.now().minus(Duration.ofMillis(claimTimeoutMs));
+        orderRepository.findStalePendingIds(before, PageRequest.of(0, recoveryBatchSize))
+                .forEach(this::submit);
+    }
+
+    private void submit(UUID orderId) {
+        try {
+            executor.execute(() -> process(orderId));
+        } catch (RejectedExecutionException e) {
+            // Sigue pendiente en la base de datos; recover() la vuelve a encolar
+            log.warn("Order acceptance queue is full, order {} will be processed later", orderId);
+        }
+    }
+
+    private void process(UUID orderId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minus(Duration.ofMillis(claimTimeoutMs));
+        Integer claimed = transactionTemplate.execute(
+                status -> orderRepository.claimPending(orderId, now, staleBefore));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null) {
+            return;
+        }
+        if (order.getProcessingAttempts() > maxAttempts) {
+            reject(orderId, "Order could not be processed, please try again");
+            return;
+        }
+
+        try {
+            CreateOrderRequest request = objectMapper.readValue(order.getPendingRequest(), CreateOrderRequest.class);
+
+            // No hay token del cliente en este hilo: se usa uno propio a nombre del dueño de la orden
+            String token = jwtTokenProvider.generateServiceToken(order.getUserId());
+            List<OrderItem> items = buildItems(request, token);
+            StockReservationDTO reservation = productServiceClient.reserveStock(request.getItems(), token);
+            if (reservation == null || reservation.getId() == null) {
+                throw new IllegalStateException("Product service returned no reservation");
+            }
+
+            complete(orderId, items, reservation.getId(), token);
+        } catch (ProductNotAvailableException e) {
+            reject(orderId, e.getMessage());
+        } catch (JsonProcessingException e) {
+            reject(orderId, "Invalid order request");
+        } catch (Exception e) {
+            // Se deja reclamada: recover() la reintenta cuando vence el reclamo
+            log.warn("Could not process order {} (attempt {}), it will be retried: {}",
+                    orderId, order.getProcessingAttempts(), e.getMessage());
+        }
+    }
+
+    private List<OrderItem> buildItems(CreateOrderRequest request, String token) {
+        Set<UUID> productIds = request.getItems().stream()
+                .map(OrderItemRequest::getProductId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<UUID, ProductDTO> products = productServiceClient.getProducts(productIds, token).stream()
+                .collect(Collectors.toMap(ProductDTO::getId, Function.identity(), (a, b) -> a));
+
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (OrderItemRequest itemRequest : request.getItems()) {
+            ProductDTO product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new ProductNotAvailableException("Product not found: " + itemRequest.getProductId());
+            }
+
+            orderItems.add(OrderItem.builder()
+                    .productId(product.getId())
+                    .productName(product.getName())
+                    .unitPrice(product.getPrice())
+                    .quantity(itemRequest.getQuantity())
+                    .build());
+        }
+        return orderItems;
+    }
+
+    private void complete(UUID orderId, List<OrderItem> items, UUID reservationId, String token) {
+        Boolean completed = transactionTemplate.execute(status -> {
+            registerReservationRelease(reservationId, token);
+
+            Order order = orderRepository.findForUpdateById(orderId).orElse(null);
+            // Cancelada mientras tanto o completada por otro worker: la reserva se libera al terminar
+            if (order == null || order.getStatus() != OrderStatus.PENDING || order.getPendingRequest() == null) {
+                status.setRollbackOnly();
+                return false;
+            }
+
+            items.forEach(order::addItem);
+            order.calculateTotal();
+            order.setReservationId(reservationId);
+            order.setPendingRequest(null);
+            Order savedOrder = orderRepository.save(order);
+
+            // TODO: Get user email from auth service
+            orderEventPublisher.publishOrderCreatedEvent(savedOrder, "user@example.com", "User");
+            orderEventPublisher.publishReservationConfirmation(savedOrder);
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(completed)) {
+            log.info("Order {} completed asynchronously", orderId);
+        }
+    }
+
+    private void reject(UUID orderId, String reason) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.findForUpdateById(orderId).orElse(null);
+            if (order == null || order.getStatus() != OrderStatus.PENDING || order.getPendingRequest() == null) {
+                return;
+            }
+
+            order.setStatus(OrderStatus.CANCELLED);
+            order.setFailureReason(reason);
+            order.setPendingRequest(null);
+            Order savedOrder = orderRepository.save(order);
+
+            orderEventPublisher.publishOrderCancelledEvent(savedOrder, "user@example.com", "User");
+        });
+
+        log.info("Order {} rejected: {}", orderId, reason);
+    }
+
+    // Igual que en CreateOrderUseCase: la confirmación va por el outbox junto con la orden y
+    // aquí solo se libera la reserva si la transacción no llega a commit
+    private void registerReservationRelease(UUID reservationId, String token) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                try {
+                    productServiceClient.releaseReservation(reservationId, token);
+                } catch (Exception e) {
+                    log.error("Could not release reservation {}, it will expire on its own", reservationId, e);
+                }
+            }
+        });
+    }
+}
@@ -2,55 +2,81 @@ package com.ecommerce.order.application.service;
 
 import com.ecommerce.order.domain.model.Order;
 import com.ecommerce.order.domain.model.OrderItem;
+import com.ecommerce.order.domain.model.OutboxEvent;
+import com.ecommerce.order.domain.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+// Los eventos se guardan en el outbox dentro de la misma transacción que la orden;
+// OutboxRelay los envía a Kafka en segundo plano
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
 public class OrderEventPublisher {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
 
     private static final String ORDER_EVENTS_TOPIC = "order-events";
+    private static final String RESERVATION_CONFIRMATIONS_TOPIC = "stock-reservation-confirmations";
 
     public void publishOrderCreatedEvent(Order order, String userEmail, String username) {
-        try {
-            Map<String, Object> event = buildOrderEvent(order, userEmail, username, "ORDER_CREATED");
-
-            kafkaTemplate.send(ORDER_EVENTS_TOPIC, order.getId().toString(), event);
-            log.info("Published ORDER_CREATED event for order: {}", order.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish ORDER_CREATED event for order: {}", order.getId(), e);
-        }
+        enqueue(order, userEmail, username, "ORDER_CREATED");
     }
 
     public void publishOrderUpdatedEvent(Order order, String userEmail, String username) {
-        try {
-            Map<String, Object> event = buildOrderEvent(order, userEmail, username, "ORDER_UPDATED");
-
-            kafkaTemplate.send(ORDER_EVENTS_TOPIC, order.getId().toString(), event);
-            log.info("Published ORDER_UPDATED event for order: {}", order.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish ORDER_UPDATED event for order: {}", order.getId(), e);
-        }
+        enqueue(order, userEmail, username, "ORDER_UPDATED");
     }
 
     public void publishOrderCancelledEvent(Order order, String userEmail, String username) {
-        try {
-            Map<String, Object> event = buildOrderEvent(order, userEmail, username, "ORDER_CANCELLED");
+        enqueue(order, userEmail, username, "ORDER_CANCELLED");
+    }
+
+    // La confirmación de la reserva viaja por el outbox: si la orden hizo commit, el relay la
+    // reintenta hasta que llegue a product-service, aunque este no responda en ese momento
+    public void publishReservationConfirmation(Order order) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("reservationId", order.getReservationId());
+        event.put("orderId", order.getId());
+
+        save(RESERVATION_CONFIRMATIONS_TOPIC, order.getReservationId().toString(), "RESERVATION_CONFIRMED", event);
+        log.info("Queued confirmation of reservation {} for order: {}", order.getReservationId(), order.getId());
+    }
+
+    private void enqueue(Order order, String userEmail, String username, String eventType) {
+        Map<String, Object> event = buildOrderEvent(order, userEmail, username, eventType);
+
+        save(ORDER_EVENTS_TOPIC, order.getId().toString(), eventType, event);
+        log.info("Queued {} event for order: {}", eventType, order.getId());
+    }
+
+    private void save(String topic, String messageKey, String eventType, Map<String, Object> event) {
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+                .topic(topic)
+                .messageKey(messageKey)
+                .eventType(eventType)
+                .payload(toJson(event))
+                .build();
 
-            kafkaTemplate.send(ORDER_EVENTS_TOPIC, order.getId().toString(), event);
-            log.info("Published ORDER_CANCELLED event for order: {}", order.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish ORDER_CANCELLED event for order: {}", order.getId(), e);
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    private String toJson(Map<String, Object> event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order event", e);
         }
     }
 
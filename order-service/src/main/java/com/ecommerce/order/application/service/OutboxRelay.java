@@ -0,0 +1,146 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.domain.model.OutboxEvent;
+import com.ecommerce.order.domain.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        Integer sent;
+        // Se sigue drenando mientras los lotes salgan completos y sin errores
+        do {
+            sent = transactionTemplate.execute(status -> relayBatch());
+        } while (sent != null && sent == batchSize);
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockNextBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // Se envía todo el lote antes de esperar, así el productor lo agrupa en pocas peticiones.
+        // Los eventos con la misma clave se encadenan: cada uno sale recién cuando el anterior
+        // fue aceptado, y si uno falla los siguientes de esa clave no se envían
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, CompletableFuture<SendResult<String, Object>>> lastByKey = new HashMap<>();
+        Map<UUID, CompletableFuture<SendResult<String, Object>>> futures = new LinkedHashMap<>();
+        int discarded = 0;
+        for (OutboxEvent event : events) {
+            JsonNode payload;
+            try {
+                payload = readPayload(event);
+            } catch (IllegalStateException e) {
+                // Reintentarlo no lo va a arreglar: se aparta y el resto del lote sigue
+                log.error("Discarding {} event {}: {}", event.getEventType(), event.getId(), e.getMessage());
+                outboxEventRepository.markFailed(event.getId(), e.getMessage(), now);
+                discarded++;
+                continue;
+            }
+
+            CompletableFuture<SendResult<String, Object>> previous = lastByKey.get(event.getMessageKey());
+            CompletableFuture<SendResult<String, Object>> future = previous == null
+                    ? send(event, payload)
+                    : previous.thenComposeAsync(result -> send(event, payload));
+            lastByKey.put(event.getMessageKey(), future);
+            futures.put(event.getId(), future);
+        }
+
+        List<UUID> published = new ArrayList<>();
+        Set<String> failedKeys = new HashSet<>();
+        for (OutboxEvent event : events) {
+            CompletableFuture<SendResult<String, Object>> future = futures.get(event.getId());
+            if (future == null) {
+                continue;
+            }
+            try {
+                future.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                // Si uno anterior de la misma clave quedó sin confirmar, este también se reenvía
+                // después de él para no romper el orden; el consumidor descarta el repetido por su eventId
+                if (!failedKeys.contains(event.getMessageKey())) {
+                    published.add(event.getId());
+                }
+            } catch (ExecutionException | TimeoutException e) {
+                failedKeys.add(event.getMessageKey());
+                log.warn("Failed to relay {} event {}, will retry: {}", event.getEventType(), event.getId(),
+                        e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        // Los que fallaron quedan en la tabla y se reintentan en la próxima pasada
+        outboxEventRepository.deleteAllByIdInBatch(published);
+        if (!published.isEmpty()) {
+            log.info("Relayed {} outbox events", published.size());
+        }
+
+        return published.size() + discarded == events.size() ? events.size() : 0;
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(OutboxEvent event, JsonNode payload) {
+        try {
+            return kafkaTemplate.send(event.getTopic(), event.getMessageKey(), payload);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Cada mensaje lleva el ID de su fila del outbox, que no cambia entre reenvíos, para que los
+    // consumidores puedan reconocer una entrega repetida
+    private JsonNode readPayload(OutboxEvent event) {
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid payload in outbox event " + event.getId(), e);
+        }
+        if (!(payload instanceof ObjectNode object)) {
+            throw new IllegalStateException("Payload of outbox event " + event.getId() + " is not a JSON object");
+        }
+        object.put("eventId", event.getId().toString());
+        return object;
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.dto.ProductChangedEventDTO;
+import com.ecommerce.order.application.dto.ProductDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+// Saca de la cache de productos los que cambiaron en product-service, en lugar de esperar a que
+// venzan con precio o estado viejos
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductChangeListener {
+    private final Cache<UUID, ProductDTO> productCache;
+    private final ObjectMapper objectMapper;
+
+    // Cada instancia usa su propio grupo: todas tienen que ver todos los cambios
+    @KafkaListener(topics = "${product-events.topic:product-changed}", groupId = "${product-events.group-id}")
+    public void onProductChanged(String message) {
+        try {
+            ProductChangedEventDTO event = objectMapper.readValue(message, ProductChangedEventDTO.class);
+            // Se descarta la entrada en lugar de parcharla: el evento no trae nombre ni categoría, y
+            // reescribirla reiniciaría el expireAfterWrite, con lo que esos datos nunca vencerían.
+            // El próximo pedido la vuelve a traer completa de product-service
+            productCache.invalidate(event.getId());
+        } catch (Exception e) {
+            log.error("Error processing product change: {}", message, e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.usecase.CancelOrderUseCase;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+// Recibe de product-service las reservas que vencieron antes de llegar su confirmación y ya no
+// pudieron recuperarse: la orden correspondiente se cancela
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationRejectionListener {
+    private final CancelOrderUseCase cancelOrderUseCase;
+    private final ObjectMapper objectMapper;
+
+    // earliest: un rechazo publicado antes de que exista el grupo no puede perderse
+    @KafkaListener(topics = "${reservations.rejections.topic:stock-reservation-rejections}",
+            groupId = "${reservations.rejections.group-id:order-service-reservation-rejections}",
+            properties = "auto.offset.reset=earliest")
+    public void onReservationRejected(String message) {
+        UUID orderId;
+        UUID reservationId;
+        String reason;
+        try {
+            JsonNode event = objectMapper.readTree(message);
+            orderId = UUID.fromString(event.path("orderId").asText());
+            reservationId = UUID.fromString(event.path("reservationId").asText());
+            reason = event.path("reason").asText(null);
+        } catch (Exception e) {
+            log.error("Discarding malformed reservation rejection: {}", message, e);
+            return;
+        }
+
+        // Los errores de base de datos se propagan: el contenedor reintenta el mismo mensaje
+        cancelOrderUseCase.cancelRejectedReservation(orderId, reservationId, reason);
+    }
+}
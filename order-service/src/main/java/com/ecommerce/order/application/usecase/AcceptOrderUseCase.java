@@ -0,0 +1,110 @@
+package com.ecommerce.order.application.usecase;
+
+import com.ecommerce.order.application.dto.CreateOrderRequest;
+import com.ecommerce.order.application.dto.OrderItemResponse;
+import com.ecommerce.order.application.dto.OrderResponse;
+import com.ecommerce.order.application.service.OrderAcceptanceWorker;
+import com.ecommerce.order.domain.model.Order;
+import com.ecommerce.order.domain.model.OrderItem;
+import com.ecommerce.order.domain.model.OrderStatus;
+import com.ecommerce.order.domain.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Modo asíncrono de creación: solo guarda la orden PENDING con el pedido original y responde;
+// OrderAcceptanceWorker valida productos y reserva stock en segundo plano
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AcceptOrderUseCase {
+    private final OrderRepository orderRepository;
+    private final OrderAcceptanceWorker orderAcceptanceWorker;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OrderResponse execute(CreateOrderRequest request, UUID userId, String idempotencyKey) {
+        // Reintento del cliente con la misma clave: se devuelve la orden ya aceptada
+        if (idempotencyKey != null) {
+            Optional<Order> existing = orderRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+            if (existing.isPresent()) {
+                return mapToResponse(existing.get());
+            }
+        }
+
+        try {
+            Order accepted = transactionTemplate.execute(status -> {
+                Order order = Order.builder()
+                        .userId(userId)
+                        .shippingAddress(request.getShippingAddress())
+                        .notes(request.getNotes())
+                        .status(OrderStatus.PENDING)
+                        .totalAmount(BigDecimal.ZERO)
+                        .idempotencyKey(idempotencyKey)
+                        .pendingRequest(toJson(request))
+                        .build();
+
+                Order savedOrder = orderRepository.saveAndFlush(order);
+                orderAcceptanceWorker.submitAfterCommit(savedOrder.getId());
+                return savedOrder;
+            });
+
+            log.info("Order {} accepted for asynchronous processing", accepted.getId());
+            return mapToResponse(accepted);
+        } catch (DataIntegrityViolationException e) {
+            // Dos peticiones simultáneas con la misma clave: gana la primera en hacer commit
+            if (idempotencyKey == null) {
+                throw e;
+            }
+            return orderRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                    .map(this::mapToResponse)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private String toJson(CreateOrderRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order request", e);
+        }
+    }
+
+    private OrderResponse mapToResponse(Order order) {
+        return OrderResponse.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .items(order.getItems().stream()
+                        .map(this::mapItemToResponse)
+                        .collect(Collectors.toList()))
+                .totalAmount(order.getTotalAmount())
+                .status(order.getStatus())
+                .shippingAddress(order.getShippingAddress())
+                .notes(order.getNotes())
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .processing(order.getStatus() == OrderStatus.PENDING && order.getPendingRequest() != null)
+                .failureReason(order.getFailureReason())
+                .build();
+    }
+
+    private OrderItemResponse mapItemToResponse(OrderItem item) {
+        return OrderItemResponse.builder()
+                .id(item.getId())
+                .productId(item.getProductId())
+                .productName(item.getProductName())
+                .unitPrice(item.getUnitPrice())
+                .quantity(item.getQuantity())
+                .subtotal(item.getSubtotal())
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.ecommerce.order.application.usecase;
 
 import com.ecommerce.order.application.dto.OrderItemResponse;
 import com.ecommerce.order.application.dto.OrderResponse;
+import com.ecommerce.order.application.service.OrderEventPublisher;
 import com.ecommerce.order.domain.model.Order;
 import com.ecommerce.order.domain.model.OrderItem;
 import com.ecommerce.order.domain.model.OrderStatus;
@@ -23,10 +24,13 @@ import java.util.stream.Collectors;
 public class CancelOrderUseCase {
     private final OrderRepository orderRepository;
     private final ProductServiceClient productServiceClient;
+    private final OrderEventPublisher orderEventPublisher;
 
     @Transactional
     public OrderResponse execute(UUID orderId, UUID userId) {
-        Order order = orderRepository.findByIdWithItems(orderId)
+        // Con bloqueo, igual que el worker al completar una orden asíncrona: sin él la cancelación
+        // y el complete se pisan y la orden queda cancelada con una reserva ya confirmada
+        Order order = orderRepository.findForUpdateById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found"));
 
         // Validar que el usuario sea el dueño de la orden
@@ -41,15 +45,21 @@ public class CancelOrderUseCase {
         }
 
         // Devolver stock a los productos
-        for (OrderItem item : order.getItems()) {
-            productServiceClient.updateStock(
-                    item.getProductId(),
-                    item.getQuantity(),
-                    true // es suma (devolver stock)
-            );
+        if (order.getReservationId() != null) {
+            // Una sola llamada libera toda la reserva (idempotente)
+            productServiceClient.releaseReservation(order.getReservationId());
+        } else {
+            for (OrderItem item : order.getItems()) {
+                productServiceClient.updateStock(
+                        item.getProductId(),
+                        item.getQuantity(),
+                        true // es suma (devolver stock)
+                );
+            }
         }
 
         order.setStatus(OrderStatus.CANCELLED);
+        order.setPendingRequest(null);
         Order updated = orderRepository.save(order);
 
         log.info("Order {} cancelled successfully", orderId);
@@ -57,6 +67,30 @@ public class CancelOrderUseCase {
         return mapToResponse(updated);
     }
 
+    // product-service no pudo recuperar la reserva vencida de una orden ya confirmada: la reserva
+    // ya quedó liberada allá, así que solo se cancela la orden
+    @Transactional
+    public void cancelRejectedReservation(UUID orderId, UUID reservationId, String reason) {
+        Order order = orderRepository.findForUpdateById(orderId).orElse(null);
+        if (order == null || !reservationId.equals(order.getReservationId())
+                || order.getStatus() == OrderStatus.CANCELLED) {
+            return;
+        }
+        if (order.getStatus() == OrderStatus.SHIPPED || order.getStatus() == OrderStatus.DELIVERED) {
+            log.error("Order {} is {} but its reservation {} was rejected: {}", orderId, order.getStatus(),
+                    reservationId, reason);
+            return;
+        }
+
+        order.setStatus(OrderStatus.CANCELLED);
+        order.setFailureReason(reason);
+        Order updated = orderRepository.save(order);
+
+        // TODO: Get user email from auth service
+        orderEventPublisher.publishOrderCancelledEvent(updated, "user@example.com", "User");
+        log.info("Order {} cancelled: reservation {} was rejected", orderId, reservationId);
+    }
+
     private OrderResponse mapToResponse(Order order) {
         return OrderResponse.builder()
                 .id(order.getId())
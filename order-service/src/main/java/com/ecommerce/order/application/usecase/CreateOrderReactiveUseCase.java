@@ -0,0 +1,141 @@
+package com.ecommerce.order.application.usecase;
+
+import com.ecommerce.order.application.dto.*;
+import com.ecommerce.order.application.service.OrderEventPublisher;
+import com.ecommerce.order.domain.model.Order;
+import com.ecommerce.order.domain.model.OrderItem;
+import com.ecommerce.order.domain.model.OrderStatus;
+import com.ecommerce.order.domain.repository.OrderRepository;
+import com.ecommerce.order.infrastructure.client.ProductServiceClient;
+import com.ecommerce.order.infrastructure.exception.ProductNotAvailableException;
+import com.ecommerce.order.infrastructure.exception.ProductServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Misma creación de orden que CreateOrderUseCase, pero las llamadas a product-service no bloquean
+// ningún hilo y la transacción solo se abre para la escritura final, en vez de quedar abierta
+// (con su conexión del pool) durante la consulta de productos y la reserva de stock
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CreateOrderReactiveUseCase {
+        private final OrderRepository orderRepository;
+        private final ProductServiceClient productServiceClient;
+        private final OrderEventPublisher orderEventPublisher;
+        private final TransactionTemplate transactionTemplate;
+
+        public Mono<OrderResponse> execute(CreateOrderRequest request, UUID userId) {
+                // El token se lee aquí, en el hilo de la petición, antes de pasar a los operadores
+                String token = productServiceClient.getTokenFromContext();
+
+                Set<UUID> productIds = request.getItems().stream()
+                                .map(OrderItemRequest::getProductId)
+                                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+                // 1. Productos (cache o una sola llamada) -> 2. items -> 3. reserva -> 4. escritura
+                return productServiceClient.getProductsReactive(productIds, token)
+                                .map(products -> buildItems(request, products))
+                                .flatMap(items -> productServiceClient.reserveStockReactive(request.getItems(), token)
+                                                .filter(reservation -> reservation.getId() != null)
+                                                .switchIfEmpty(Mono.error(new ProductServiceUnavailableException(
+                                                                "Product service returned no reservation")))
+                                                .flatMap(reservation -> save(request, userId, items, reservation, token)));
+        }
+
+        private List<OrderItem> buildItems(CreateOrderRequest request, List<ProductDTO> fetched) {
+                Map<UUID, ProductDTO> products = fetched.stream()
+                                .collect(Collectors.toMap(ProductDTO::getId, Function.identity(), (a, b) -> a));
+
+                List<OrderItem> orderItems = new ArrayList<>();
+                for (OrderItemRequest itemRequest : request.getItems()) {
+                        ProductDTO product = products.get(itemRequest.getProductId());
+                        if (product == null) {
+                                throw new ProductNotAvailableException(
+                                                "Product not found: " + itemRequest.getProductId());
+                        }
+
+                        orderItems.add(OrderItem.builder()
+                                        .productId(product.getId())
+                                        .productName(product.getName())
+                                        .unitPrice(product.getPrice())
+                                        .quantity(itemRequest.getQuantity())
+                                        .build());
+                }
+                return orderItems;
+        }
+
+        // La escritura JPA es bloqueante: corre en boundedElastic para no ocupar el event loop.
+        // La confirmación de la reserva se guarda en el outbox junto con la orden; si la escritura
+        // falla, se libera (y si el proceso cae en medio, vence sola en product-service)
+        private Mono<OrderResponse> save(CreateOrderRequest request, UUID userId, List<OrderItem> items,
+                        StockReservationDTO reservation, String token) {
+                return Mono.fromCallable(() -> transactionTemplate.execute(status -> {
+                        Order order = Order.builder()
+                                        .userId(userId)
+                                        .shippingAddress(request.getShippingAddress())
+                                        .notes(request.getNotes())
+                                        .status(OrderStatus.PENDING)
+                                        .reservationId(reservation.getId())
+                                        .build();
+                        items.forEach(order::addItem);
+                        order.calculateTotal();
+
+                        Order savedOrder = orderRepository.save(order);
+
+                        // TODO: Get user email from auth service or pass it from controller
+                        orderEventPublisher.publishOrderCreatedEvent(savedOrder, "user@example.com", "User");
+                        orderEventPublisher.publishReservationConfirmation(savedOrder);
+                        return savedOrder;
+                }))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .onErrorResume(e -> productServiceClient.releaseReservationReactive(reservation.getId(), token)
+                                                .onErrorResume(releaseError -> {
+                                                        log.error("Could not release reservation {}, it will expire on its own",
+                                                                        reservation.getId(), releaseError);
+                                                        return Mono.empty();
+                                                })
+                                                .then(Mono.error(e)))
+                                .doOnNext(savedOrder -> log.info("Order created successfully: {}", savedOrder.getId()))
+                                .map(this::mapToResponse);
+        }
+
+        private OrderResponse mapToResponse(Order order) {
+                return OrderResponse.builder()
+                                .id(order.getId())
+                                .userId(order.getUserId())
+                                .items(order.getItems().stream()
+                                                .map(this::mapItemToResponse)
+                                                .collect(Collectors.toList()))
+                                .totalAmount(order.getTotalAmount())
+                                .status(order.getStatus())
+                                .shippingAddress(order.getShippingAddress())
+                                .notes(order.getNotes())
+                                .createdAt(order.getCreatedAt())
+                                .updatedAt(order.getUpdatedAt())
+                                .build();
+        }
+
+        private OrderItemResponse mapItemToResponse(OrderItem item) {
+                return OrderItemResponse.builder()
+                                .id(item.getId())
+                                .productId(item.getProductId())
+                                .productName(item.getProductName())
+                                .unitPrice(item.getUnitPrice())
+                                .quantity(item.getQuantity())
+                                .subtotal(item.getSubtotal())
+                                .build();
+        }
+}
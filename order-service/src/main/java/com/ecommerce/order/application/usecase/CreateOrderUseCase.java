@@ -7,14 +7,21 @@ import com.ecommerce.order.domain.model.OrderStatus;
 import com.ecommerce.order.domain.repository.OrderRepository;
 import com.ecommerce.order.infrastructure.client.ProductServiceClient;
 import com.ecommerce.order.infrastructure.exception.ProductNotAvailableException;
+import com.ecommerce.order.infrastructure.exception.ProductServiceUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,24 +34,27 @@ public class CreateOrderUseCase {
 
         @Transactional
         public OrderResponse execute(CreateOrderRequest request, UUID userId) {
-                // 1. Validar productos y obtener información
-                List<OrderItem> orderItems = new ArrayList<>();
+                // 1. Validar productos y obtener información (una sola llamada para todo el carrito)
+                Set<UUID> productIds = request.getItems().stream()
+                                .map(OrderItemRequest::getProductId)
+                                .collect(Collectors.toCollection(LinkedHashSet::new));
 
-                for (OrderItemRequest itemRequest : request.getItems()) {
-                        ProductDTO product = productServiceClient.getProduct(itemRequest.getProductId())
-                                        .orElseThrow(() -> new ProductNotAvailableException(
-                                                        "Product not found: " + itemRequest.getProductId()));
+                Map<UUID, ProductDTO> products = productServiceClient.getProducts(productIds).stream()
+                                .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
 
-                        log.info("Retrieved product: id={}, name={}, price={}, stock={}",
-                                        product.getId(), product.getName(), product.getPrice(), product.getStock());
+                List<OrderItem> orderItems = new ArrayList<>();
 
-                        // 2. Validar stock disponible
-                        if (product.getStock() < itemRequest.getQuantity()) {
+                for (OrderItemRequest itemRequest : request.getItems()) {
+                        ProductDTO product = products.get(itemRequest.getProductId());
+                        if (product == null) {
                                 throw new ProductNotAvailableException(
-                                                "Insufficient stock for product: " + product.getName());
+                                                "Product not found: " + itemRequest.getProductId());
                         }
 
-                        // 3. Crear item de pedido
+                        log.info("Retrieved product: id={}, name={}, price={}",
+                                        product.getId(), product.getName(), product.getPrice());
+
+                        // 2. Crear item de pedido (el stock lo valida la reserva del paso 3)
                         OrderItem item = OrderItem.builder()
                                         .productId(product.getId())
                                         .productName(product.getName())
@@ -58,12 +68,23 @@ public class CreateOrderUseCase {
                         orderItems.add(item);
                 }
 
+                // 3. Reservar stock de todos los productos en una sola llamada (todo o nada)
+                StockReservationDTO reservation = productServiceClient.reserveStock(request.getItems());
+                if (reservation == null || reservation.getId() == null) {
+                        throw new ProductServiceUnavailableException("Product service returned no reservation");
+                }
+
+                // Si la orden no llega a commit la reserva se libera (y si el proceso cae antes,
+                // vence sola en product-service); la confirmación va por el outbox en el paso 7
+                registerReservationRelease(reservation.getId());
+
                 // 4. Crear orden
                 Order order = Order.builder()
                                 .userId(userId)
                                 .shippingAddress(request.getShippingAddress())
                                 .notes(request.getNotes())
                                 .status(OrderStatus.PENDING)
+                                .reservationId(reservation.getId())
                                 .build();
 
                 // 5. Agregar items
@@ -73,26 +94,35 @@ public class CreateOrderUseCase {
                 // 6. Guardar orden
                 Order savedOrder = orderRepository.save(order);
 
-                // 7. Actualizar stock de productos
-                for (OrderItemRequest itemRequest : request.getItems()) {
-                        productServiceClient.updateStock(
-                                        itemRequest.getProductId(),
-                                        itemRequest.getQuantity(),
-                                        false // es resta
-                        );
-                }
-
                 log.info("Order created successfully: {}", savedOrder.getId());
 
-                // 8. Publish order created event to Kafka
+                // 7. Publish order created event to Kafka
                 // TODO: Get user email from auth service or pass it from controller
                 String userEmail = "user@example.com"; // Placeholder
                 String username = "User"; // Placeholder
                 orderEventPublisher.publishOrderCreatedEvent(savedOrder, userEmail, username);
+                orderEventPublisher.publishReservationConfirmation(savedOrder);
 
                 return mapToResponse(savedOrder);
         }
 
+        private void registerReservationRelease(UUID reservationId) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                                if (status == STATUS_COMMITTED) {
+                                        return;
+                                }
+                                try {
+                                        productServiceClient.releaseReservation(reservationId);
+                                } catch (Exception e) {
+                                        log.error("Could not release reservation {}, it will expire on its own",
+                                                        reservationId, e);
+                                }
+                        }
+                });
+        }
+
         private OrderResponse mapToResponse(Order order) {
                 return OrderResponse.builder()
                                 .id(order.getId())
@@ -4,6 +4,7 @@ import com.ecommerce.order.application.dto.OrderItemResponse;
 import com.ecommerce.order.application.dto.OrderResponse;
 import com.ecommerce.order.domain.model.Order;
 import com.ecommerce.order.domain.model.OrderItem;
+import com.ecommerce.order.domain.model.OrderStatus;
 import com.ecommerce.order.domain.repository.OrderRepository;
 import com.ecommerce.order.infrastructure.exception.OrderNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -70,6 +71,8 @@ public class GetOrderUseCase {
                 .notes(order.getNotes())
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
+                .processing(order.getStatus() == OrderStatus.PENDING && order.getPendingRequest() != null)
+                .failureReason(order.getFailureReason())
                 .build();
     }
 
@@ -1,10 +1,12 @@
 package com.ecommerce.order.domain.model;
 
+import com.ecommerce.order.infrastructure.persistence.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.GenericGenerator;
 
 import java.math.BigDecimal;
@@ -14,15 +16,17 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_orders_user_idempotency_key", columnNames = {"user_id", "idempotency_key"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Order {
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedValue(generator = "UUIDv7")
+    @GenericGenerator(name = "UUIDv7", type = UuidV7Generator.class)
     private UUID id;
 
     @Column(nullable = false)
@@ -44,6 +48,28 @@ public class Order {
 
     private String notes;
 
+    // Reserva de stock en product-service; null en órdenes anteriores a las reservas
+    private UUID reservationId;
+
+    // Aceptación asíncrona: clave Idempotency-Key del cliente, para no duplicar la orden si reintenta
+    private String idempotencyKey;
+
+    // Pedido original (JSON) a la espera de que un worker lo valide y reserve el stock;
+    // null una vez procesado
+    @Column(columnDefinition = "text")
+    private String pendingRequest;
+
+    private LocalDateTime processingStartedAt;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer processingAttempts = 0;
+
+    // Motivo del rechazo cuando la aceptación asíncrona no pudo completar la orden
+    @Column(length = 500)
+    private String failureReason;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
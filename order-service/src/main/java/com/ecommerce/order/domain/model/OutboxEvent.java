@@ -0,0 +1,55 @@
+package com.ecommerce.order.domain.model;
+
+import com.ecommerce.order.infrastructure.persistence.UuidV7Generator;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(generator = "UUIDv7")
+    @GenericGenerator(name = "UUIDv7", type = UuidV7Generator.class)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    // Clave del mensaje en Kafka (ID de la orden), mantiene el orden por partición
+    @Column(nullable = false)
+    private String messageKey;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Eventos que nunca van a poder enviarse (payload ilegible): quedan apartados para revisión
+    // en lugar de bloquear el outbox
+    private LocalDateTime failedAt;
+
+    @Column(length = 500)
+    private String failureReason;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -2,10 +2,15 @@ package com.ecommerce.order.domain.repository;
 
 import com.ecommerce.order.domain.model.Order;
 import com.ecommerce.order.domain.model.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +24,32 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     @Query("SELECT o FROM Order o WHERE o.userId = :userId AND o.status = :status")
     List<Order> findByUserIdAndStatus(UUID userId, OrderStatus status);
 
-    @Query("SELECT o FROM Order o JOIN FETCH o.items WHERE o.id = :orderId")
+    // LEFT JOIN: una orden aceptada en modo asíncrono todavía no tiene items
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :orderId")
     Optional<Order> findByIdWithItems(UUID orderId);
+
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items " +
+            "WHERE o.userId = :userId AND o.idempotencyKey = :idempotencyKey")
+    Optional<Order> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findForUpdateById(UUID id);
+
+    // Reclama una orden pendiente para un worker; devuelve 0 si otro ya la tiene (y su reclamo
+    // no venció) o si ya no hay nada que procesar
+    @Modifying
+    @Query("UPDATE Order o SET o.processingStartedAt = :now, " +
+            "o.processingAttempts = o.processingAttempts + 1 " +
+            "WHERE o.id = :id AND o.status = com.ecommerce.order.domain.model.OrderStatus.PENDING " +
+            "AND o.pendingRequest IS NOT NULL " +
+            "AND (o.processingStartedAt IS NULL OR o.processingStartedAt < :staleBefore)")
+    int claimPending(UUID id, LocalDateTime now, LocalDateTime staleBefore);
+
+    // Órdenes aceptadas que nadie terminó de procesar: cola llena, reinicio o worker caído
+    @Query("SELECT o.id FROM Order o " +
+            "WHERE o.status = com.ecommerce.order.domain.model.OrderStatus.PENDING " +
+            "AND o.pendingRequest IS NOT NULL " +
+            "AND COALESCE(o.processingStartedAt, o.createdAt) < :before ORDER BY o.createdAt")
+    List<UUID> findStalePendingIds(LocalDateTime before, Pageable pageable);
 }
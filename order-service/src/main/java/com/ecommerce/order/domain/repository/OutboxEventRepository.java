@@ -0,0 +1,24 @@
+package com.ecommerce.order.domain.repository;
+
+import com.ecommerce.order.domain.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    // SKIP LOCKED permite que varias instancias drenen el outbox sin pisarse
+    @Query(value = "SELECT * FROM outbox_events WHERE failed_at IS NULL " +
+            "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.failedAt = :now, e.failureReason = :reason WHERE e.id = :id")
+    int markFailed(UUID id, String reason, LocalDateTime now);
+}
@@ -1,53 +1,127 @@
 package com.ecommerce.order.infrastructure.client;
 
+import com.ecommerce.order.application.dto.OrderItemRequest;
 import com.ecommerce.order.application.dto.ProductDTO;
+import com.ecommerce.order.application.dto.StockReservationDTO;
+import com.ecommerce.order.application.dto.StockReservationRequest;
+import com.ecommerce.order.infrastructure.exception.ProductNotAvailableException;
+import com.ecommerce.order.infrastructure.exception.ProductServiceUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProductServiceClient {
-    private final WebClient webClient;
+    private final WebClient productServiceWebClient;
+    private final Cache<UUID, ProductDTO> productCache;
+    private final CircuitBreaker productServiceCircuitBreaker;
+    private final Bulkhead productServiceBulkhead;
 
     @Value("${services.product-service-url}")
     private String productServiceUrl;
 
     public Optional<ProductDTO> getProduct(UUID productId) {
         try {
-            ProductDTO product = webClient.get()
+            ProductDTO product = call(() -> productServiceWebClient.get()
                     .uri(productServiceUrl + "/api/products/{id}", productId)
                     .retrieve()
                     .bodyToMono(ProductDTO.class)
-                    .block();
+                    .block());
 
             return Optional.ofNullable(product);
-        } catch (Exception e) {
+        } catch (WebClientResponseException e) {
             log.error("Error getting product {}: {}", productId, e.getMessage());
             return Optional.empty();
         }
     }
 
+    // Devuelve solo metadatos (nombre, precio, categoría) desde la cache local; el stock
+    // no se incluye porque lo valida la reserva en product-service
+    public List<ProductDTO> getProducts(Collection<UUID> productIds) {
+        return getProducts(productIds, getTokenFromContext());
+    }
+
+    // Con token explícito, para hilos sin SecurityContext (workers en segundo plano)
+    public List<ProductDTO> getProducts(Collection<UUID> productIds, String token) {
+        List<ProductDTO> products = new ArrayList<>();
+        List<UUID> missing = new ArrayList<>();
+
+        for (UUID productId : productIds) {
+            ProductDTO cached = productCache.getIfPresent(productId);
+            if (cached != null) {
+                products.add(cached);
+            } else {
+                missing.add(productId);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return products;
+        }
+
+        try {
+            List<ProductDTO> fetched = call(() -> productServiceWebClient.post()
+                    .uri(productServiceUrl + "/api/products/batch")
+                    .header("Authorization", "Bearer " + token)
+                    .bodyValue(missing)
+                    .retrieve()
+                    .bodyToFlux(ProductDTO.class)
+                    .collectList()
+                    .block());
+
+            if (fetched != null) {
+                for (ProductDTO product : fetched) {
+                    product.setStock(null);
+                    productCache.put(product.getId(), product);
+                    products.add(product);
+                }
+            }
+        } catch (WebClientResponseException e) {
+            // Los 5xx ya salen como ProductServiceUnavailableException; un 4xx es un problema de la
+            // llamada (token, tamaño del lote) y no puede terminar como "Product not found". Los IDs
+            // que no existen simplemente no vienen en la respuesta
+            log.error("Error getting products {}: {}", missing, e.getMessage());
+            throw rejectedLookup(e);
+        }
+
+        return products;
+    }
+
+    // Solo para órdenes anteriores a las reservas, que devuelven su stock producto por producto
     public void updateStock(UUID productId, Integer quantity, boolean isAddition) {
         try {
-            // Get JWT token from current request context
             String token = getTokenFromContext();
 
-            String uri = productServiceUrl + "/api/products/" + productId + "/stock" +
-                    "?quantity=" + quantity + "&isAddition=" + isAddition;
-
-            webClient.patch()
-                    .uri(uri)
+            call(() -> productServiceWebClient.patch()
+                    .uri(productServiceUrl + "/api/products/{id}/stock?quantity={quantity}&isAddition={isAddition}",
+                            productId, quantity, isAddition)
                     .header("Authorization", "Bearer " + token)
                     .retrieve()
                     .bodyToMono(Void.class)
-                    .block();
+                    .block());
 
             log.info("Stock updated for product {}", productId);
         } catch (Exception e) {
@@ -56,7 +130,180 @@ public class ProductServiceClient {
         }
     }
 
-    private String getTokenFromContext() {
+    public StockReservationDTO reserveStock(List<OrderItemRequest> items) {
+        return reserveStock(items, getTokenFromContext());
+    }
+
+    // Variante con token explícito, para llamadas fuera del hilo de la petición
+    public StockReservationDTO reserveStock(List<OrderItemRequest> items, String token) {
+        try {
+            StockReservationDTO reservation = call(() -> productServiceWebClient.post()
+                    .uri(productServiceUrl + "/api/reservations")
+                    .header("Authorization", "Bearer " + token)
+                    .bodyValue(new StockReservationRequest(items))
+                    .retrieve()
+                    .bodyToMono(StockReservationDTO.class)
+                    .block());
+
+            log.info("Stock reserved for {} items: reservation {}", items.size(),
+                    reservation != null ? reservation.getId() : null);
+            return reservation;
+        } catch (WebClientResponseException e) {
+            if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
+                throw new ProductNotAvailableException(getErrorMessage(e));
+            }
+            log.error("Error reserving stock: {}", e.getMessage());
+            throw new RuntimeException("Failed to reserve product stock", e);
+        } catch (ProductServiceUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error reserving stock: {}", e.getMessage());
+            throw new RuntimeException("Failed to reserve product stock", e);
+        }
+    }
+
+    public void releaseReservation(UUID reservationId) {
+        releaseReservation(reservationId, getTokenFromContext());
+    }
+
+    public void releaseReservation(UUID reservationId, String token) {
+        changeReservation(reservationId, "release", token);
+    }
+
+    private void changeReservation(UUID reservationId, String action, String token) {
+        try {
+            call(() -> productServiceWebClient.post()
+                    .uri(productServiceUrl + "/api/reservations/{id}/" + action, reservationId)
+                    .header("Authorization", "Bearer " + token)
+                    .retrieve()
+                    .bodyToMono(Void.class)
+                    .block());
+
+            log.info("Reservation {} {} completed", reservationId, action);
+        } catch (Exception e) {
+            log.error("Error on {} of reservation {}: {}", action, reservationId, e.getMessage());
+            throw new RuntimeException("Failed to " + action + " stock reservation", e);
+        }
+    }
+
+    // Toda llamada pasa por el bulkhead (limita los hilos bloqueados esperando a product-service)
+    // y por el circuit breaker (corta las llamadas mientras product-service falla o va lento);
+    // en ambos casos, y ante timeouts o 5xx, se responde 503 en lugar de esperar
+    private <T> T call(Supplier<T> request) {
+        try {
+            return productServiceBulkhead.executeSupplier(
+                    () -> productServiceCircuitBreaker.executeSupplier(request));
+        } catch (RuntimeException e) {
+            throw toUnavailable(e);
+        }
+    }
+
+    // Equivalente no bloqueante de call(): mismo bulkhead y circuit breaker, aplicados al Mono
+    private <T> Mono<T> protect(Mono<T> request) {
+        return request
+                .transformDeferred(CircuitBreakerOperator.of(productServiceCircuitBreaker))
+                .transformDeferred(BulkheadOperator.of(productServiceBulkhead))
+                .onErrorMap(RuntimeException.class, this::toUnavailable);
+    }
+
+    private RuntimeException toUnavailable(RuntimeException e) {
+        if (e instanceof BulkheadFullException) {
+            return new ProductServiceUnavailableException("Product service is saturated, try again later", e);
+        }
+        if (e instanceof CallNotPermittedException) {
+            return new ProductServiceUnavailableException("Product service is unavailable, try again later", e);
+        }
+        if (e instanceof WebClientRequestException) {
+            return new ProductServiceUnavailableException("Product service did not respond", e);
+        }
+        if (e instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError()) {
+            return new ProductServiceUnavailableException("Product service failed: " + response.getStatusCode(), e);
+        }
+        return e;
+    }
+
+    // Variantes no bloqueantes para el flujo reactivo de creación de órdenes. El token se pasa
+    // explícitamente porque los operadores no corren en el hilo que tiene el SecurityContext
+
+    public Mono<List<ProductDTO>> getProductsReactive(Collection<UUID> productIds, String token) {
+        List<ProductDTO> products = new ArrayList<>();
+        List<UUID> missing = new ArrayList<>();
+
+        for (UUID productId : productIds) {
+            ProductDTO cached = productCache.getIfPresent(productId);
+            if (cached != null) {
+                products.add(cached);
+            } else {
+                missing.add(productId);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return Mono.just(products);
+        }
+
+        return protect(productServiceWebClient.post()
+                .uri(productServiceUrl + "/api/products/batch")
+                .header("Authorization", "Bearer " + token)
+                .bodyValue(missing)
+                .retrieve()
+                .bodyToFlux(ProductDTO.class)
+                .collectList())
+                .onErrorMap(WebClientResponseException.class, this::rejectedLookup)
+                .map(fetched -> {
+                    for (ProductDTO product : fetched) {
+                        product.setStock(null);
+                        productCache.put(product.getId(), product);
+                        products.add(product);
+                    }
+                    return products;
+                });
+    }
+
+    public Mono<StockReservationDTO> reserveStockReactive(List<OrderItemRequest> items, String token) {
+        return protect(productServiceWebClient.post()
+                .uri(productServiceUrl + "/api/reservations")
+                .header("Authorization", "Bearer " + token)
+                .bodyValue(new StockReservationRequest(items))
+                .retrieve()
+                .bodyToMono(StockReservationDTO.class))
+                .onErrorMap(WebClientResponseException.class, e -> e.getStatusCode() == HttpStatus.BAD_REQUEST
+                        ? new ProductNotAvailableException(getErrorMessage(e))
+                        : new RuntimeException("Failed to reserve product stock", e))
+                .doOnNext(reservation -> log.info("Stock reserved for {} items: reservation {}",
+                        items.size(), reservation.getId()));
+    }
+
+    public Mono<Void> releaseReservationReactive(UUID reservationId, String token) {
+        return changeReservationReactive(reservationId, "release", token);
+    }
+
+    private Mono<Void> changeReservationReactive(UUID reservationId, String action, String token) {
+        return protect(productServiceWebClient.post()
+                .uri(productServiceUrl + "/api/reservations/{id}/" + action, reservationId)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToMono(Void.class))
+                .doOnSuccess(ignored -> log.info("Reservation {} {} completed", reservationId, action));
+    }
+
+    private RuntimeException rejectedLookup(WebClientResponseException e) {
+        return new RuntimeException("Product service rejected the product lookup: " + e.getStatusCode(), e);
+    }
+
+    private String getErrorMessage(WebClientResponseException e) {
+        try {
+            Map<?, ?> body = e.getResponseBodyAs(Map.class);
+            if (body != null && body.get("message") != null) {
+                return body.get("message").toString();
+            }
+        } catch (Exception ignored) {
+            // El cuerpo no es JSON, se usa el mensaje por defecto
+        }
+        return "Insufficient stock";
+    }
+
+    public String getTokenFromContext() {
         // Extract token from SecurityContextHolder
         org.springframework.security.core.Authentication authentication = org.springframework.security.core.context.SecurityContextHolder
                 .getContext().getAuthentication();
@@ -21,6 +21,8 @@ public class CorsConfig {
         configuration.setAllowedOrigins(Arrays.asList(allowedOrigins.split(",")));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // Location apunta a la orden aceptada en modo asíncrono (202)
+        configuration.setExposedHeaders(Arrays.asList("Location"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
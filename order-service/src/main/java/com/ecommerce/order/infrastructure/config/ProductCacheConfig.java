@@ -0,0 +1,52 @@
+package com.ecommerce.order.infrastructure.config;
+
+import com.ecommerce.order.application.dto.CategoryDTO;
+import com.ecommerce.order.application.dto.ProductDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Configuration
+public class ProductCacheConfig {
+
+    @Value("${product-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    // Límite en bytes aproximados; Caffeine no permite combinarlo con un máximo de entradas
+    @Value("${product-cache.maximum-weight:16777216}")
+    private long maximumWeight;
+
+    @Bean
+    public Cache<UUID, ProductDTO> productCache(MeterRegistry meterRegistry) {
+        Cache<UUID, ProductDTO> cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumWeight(maximumWeight)
+                .weigher((UUID id, ProductDTO product) -> estimateSize(product))
+                .recordStats()
+                .build();
+
+        // Expone cache.gets (hit/miss), cache.evictions, cache.size, etc. con tag cache=products
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+    }
+
+    private int estimateSize(ProductDTO product) {
+        int size = 256 + length(product.getName()) + length(product.getDescription())
+                + length(product.getImageUrl()) + length(product.getStatus());
+        CategoryDTO category = product.getCategory();
+        if (category != null) {
+            size += 64 + length(category.getName()) + length(category.getDescription());
+        }
+        return size;
+    }
+
+    private int length(String value) {
+        return value != null ? value.length() * 2 : 0;
+    }
+}
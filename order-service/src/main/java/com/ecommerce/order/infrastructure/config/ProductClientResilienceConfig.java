@@ -0,0 +1,93 @@
+package com.ecommerce.order.infrastructure.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+
+@Configuration
+public class ProductClientResilienceConfig {
+    public static final String PRODUCT_SERVICE = "product-service";
+
+    @Value("${product-client.bulkhead.max-concurrent-calls:25}")
+    private int maxConcurrentCalls;
+
+    // 0 = rechazar de inmediato cuando no hay cupo, en vez de encolar hilos de Tomcat
+    @Value("${product-client.bulkhead.max-wait-ms:0}")
+    private long maxWaitMs;
+
+    @Value("${product-client.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${product-client.circuit-breaker.slow-call-duration-ms:2000}")
+    private long slowCallDurationMs;
+
+    @Value("${product-client.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${product-client.circuit-breaker.sliding-window-size:50}")
+    private int slidingWindowSize;
+
+    @Value("${product-client.circuit-breaker.minimum-number-of-calls:20}")
+    private int minimumNumberOfCalls;
+
+    @Value("${product-client.circuit-breaker.wait-in-open-state-ms:10000}")
+    private long waitInOpenStateMs;
+
+    @Value("${product-client.circuit-breaker.permitted-calls-in-half-open-state:5}")
+    private int permittedCallsInHalfOpenState;
+
+    // Expone resilience4j.circuitbreaker.state, .calls y .not.permitted.calls con tag name=product-service
+    @Bean
+    public CircuitBreaker productServiceCircuitBreaker(MeterRegistry meterRegistry) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(Duration.ofMillis(waitInOpenStateMs))
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // Un 4xx (stock insuficiente, producto inexistente) es una respuesta válida, no una caída
+                .recordException(e -> !(e instanceof WebClientResponseException response
+                        && response.getStatusCode().is4xxClientError()))
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(PRODUCT_SERVICE);
+    }
+
+    // Expone resilience4j.bulkhead.available.concurrent.calls y product.client.bulkhead.rejected
+    @Bean
+    public Bulkhead productServiceBulkhead(MeterRegistry meterRegistry) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(maxWaitMs))
+                .build();
+
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        Bulkhead bulkhead = registry.bulkhead(PRODUCT_SERVICE);
+
+        Counter rejected = Counter.builder("product.client.bulkhead.rejected")
+                .description("Calls to product-service rejected because the bulkhead was full")
+                .tag("name", PRODUCT_SERVICE)
+                .register(meterRegistry);
+        bulkhead.getEventPublisher().onCallRejected(event -> rejected.increment());
+        return bulkhead;
+    }
+}
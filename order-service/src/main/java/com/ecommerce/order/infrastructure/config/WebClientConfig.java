@@ -1,14 +1,79 @@
 package com.ecommerce.order.infrastructure.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
 
+    @Value("${product-client.connect-timeout-ms:1000}")
+    private int connectTimeoutMs;
+
+    // Tiempo máximo de espera de la respuesta; sin él un product-service lento retiene el hilo
+    @Value("${product-client.response-timeout-ms:3000}")
+    private long responseTimeoutMs;
+
+    @Value("${product-client.pool.max-connections:50}")
+    private int maxConnections;
+
+    // Peticiones que pueden esperar una conexión libre; más allá se rechazan en vez de acumularse
+    @Value("${product-client.pool.pending-acquire-max-count:200}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${product-client.pool.pending-acquire-timeout-ms:2000}")
+    private long pendingAcquireTimeoutMs;
+
+    // Por debajo del keep-alive del servidor, para no reutilizar conexiones que este ya cerró
+    @Value("${product-client.pool.max-idle-time-ms:30000}")
+    private long maxIdleTimeMs;
+
+    @Value("${product-client.pool.max-life-time-ms:300000}")
+    private long maxLifeTimeMs;
+
+    @Value("${product-client.pool.evict-interval-ms:30000}")
+    private long evictIntervalMs;
+
+    @Value("${product-client.pool.h2c:false}")
+    private boolean h2c;
+
+    // Pool propio para product-service; con metrics(true) publica reactor.netty.connection.provider.*
+    // (conexiones activas, ociosas y pendientes) con tag name=product-service
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider productServiceConnectionProvider() {
+        return ConnectionProvider.builder("product-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+                .evictInBackground(Duration.ofMillis(evictIntervalMs))
+                .lifo()
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient webClient(WebClient.Builder builder) {
-        return builder.build();
+    public WebClient productServiceWebClient(WebClient.Builder builder,
+                                             ConnectionProvider productServiceConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(productServiceConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        if (h2c) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
 }
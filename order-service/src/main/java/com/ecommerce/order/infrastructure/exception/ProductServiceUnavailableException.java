@@ -0,0 +1,11 @@
+package com.ecommerce.order.infrastructure.exception;
+
+public class ProductServiceUnavailableException extends RuntimeException {
+    public ProductServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ProductServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
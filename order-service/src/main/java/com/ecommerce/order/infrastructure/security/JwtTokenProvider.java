@@ -4,6 +4,7 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -15,15 +16,23 @@ import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtTokenProvider {
+    public static final String SERVICE_ROLE = "SERVICE";
+    private static final String SERVICE_SUBJECT = "order-service";
+    private static final String SERVICE_SCOPE = "stock:reserve";
 
     @Value("${jwt.secret}")
     private String jwtSecret;
 
+    @Value("${jwt.service-token-expiration-ms:300000}")
+    private long serviceTokenExpirationMs;
+
     public boolean validateToken(String token) {
         try {
             Jwts.parserBuilder()
@@ -61,6 +70,24 @@ public class JwtTokenProvider {
         return new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
     }
 
+    // Token de corta duración para llamadas a otros servicios hechas fuera de una petición
+    // (workers en segundo plano), donde no hay token del cliente. Lleva su propio rol y no el
+    // claim userId: no sirve para actuar como el usuario, solo para reservar stock en su nombre
+    public String generateServiceToken(UUID userId) {
+        Date currentDate = new Date();
+        Date expireDate = new Date(currentDate.getTime() + serviceTokenExpirationMs);
+
+        return Jwts.builder()
+                .setSubject(SERVICE_SUBJECT)
+                .claim("role", SERVICE_ROLE)
+                .claim("scope", SERVICE_SCOPE)
+                .claim("onBehalfOf", userId.toString())
+                .setIssuedAt(currentDate)
+                .setExpiration(expireDate)
+                .signWith(key(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
     private Key key() {
         return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
     }
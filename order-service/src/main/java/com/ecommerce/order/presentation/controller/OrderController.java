@@ -6,12 +6,15 @@ import com.ecommerce.order.application.dto.UpdateOrderStatusRequest;
 import com.ecommerce.order.application.usecase.*;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
+import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,15 +22,25 @@ import java.util.UUID;
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 public class OrderController {
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final CreateOrderUseCase createOrderUseCase;
+    private final CreateOrderReactiveUseCase createOrderReactiveUseCase;
+    private final AcceptOrderUseCase acceptOrderUseCase;
     private final GetOrderUseCase getOrderUseCase;
     private final ListOrdersUseCase listOrdersUseCase;
     private final UpdateOrderStatusUseCase updateOrderStatusUseCase;
     private final CancelOrderUseCase cancelOrderUseCase;
 
+    // Con orders.async.enabled la orden se acepta con 202 y se completa en segundo plano;
+    // el cliente consulta su estado en la URL de Location
+    @Value("${orders.async.enabled:false}")
+    private boolean asyncEnabled;
+
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(
             @Valid @RequestBody CreateOrderRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @AuthenticationPrincipal UserDetails userDetails) {
         // Assuming username in UserDetails IS the UUID of the user.
         // In Auth Service's JwtTokenProvider, we set subject = username (which is email
@@ -80,10 +93,31 @@ public class OrderController {
         // Let's stick to the code provided in instructions.
 
         UUID userId = UUID.fromString(userDetails.getUsername());
+
+        if (asyncEnabled) {
+            if (idempotencyKey != null && idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                return ResponseEntity.badRequest().build();
+            }
+            OrderResponse accepted = acceptOrderUseCase.execute(request, userId, idempotencyKey);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/orders/" + accepted.getId()))
+                    .body(accepted);
+        }
+
         OrderResponse response = createOrderUseCase.execute(request, userId);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // Alternativa no bloqueante: el hilo de Tomcat se libera mientras se consulta product-service
+    @PostMapping("/reactive")
+    public Mono<ResponseEntity<OrderResponse>> createOrderReactive(
+            @Valid @RequestBody CreateOrderRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        return createOrderReactiveUseCase.execute(request, userId)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
     @GetMapping
     public ResponseEntity<List<OrderResponse>> listOrders(
             @AuthenticationPrincipal UserDetails userDetails,
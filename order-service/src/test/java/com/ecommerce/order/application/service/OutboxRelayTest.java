@@ -0,0 +1,162 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.domain.model.OutboxEvent;
+import com.ecommerce.order.domain.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// El relay publica en orden por clave, nunca deja que un evento pase a uno anterior de su clave
+// que no se pudo enviar y aparta las filas ilegibles sin frenar al resto
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+    private static final String TOPIC = "order-events";
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxRelay outboxRelay;
+
+    // Resultado de cada envío según el número de secuencia del payload
+    private final Map<Integer, CompletableFuture<SendResult<String, Object>>> results = new ConcurrentHashMap<>();
+    private final List<JsonNode> sent = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaTemplate, transactionTemplate, new ObjectMapper());
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 10);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeoutMs", 2000L);
+    }
+
+    @Test
+    void eventsOfTheSameKeyAreSentOneAfterTheOther() {
+        OutboxEvent first = event("order-1", 1);
+        OutboxEvent second = event("order-1", 2);
+        CompletableFuture<SendResult<String, Object>> firstResult = new CompletableFuture<>();
+        results.put(1, firstResult);
+        results.put(2, CompletableFuture.completedFuture(null));
+        givenBatch(first, second);
+
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(() -> firstResult.complete(null));
+        outboxRelay.relay();
+
+        assertThat(sentSequences()).containsExactly(1, 2);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(first.getId(), second.getId()));
+    }
+
+    @Test
+    void failedEventHoldsBackTheRestOfItsKeyButNotOtherKeys() {
+        OutboxEvent failed = event("order-1", 1);
+        OutboxEvent heldBack = event("order-1", 2);
+        OutboxEvent other = event("order-2", 3);
+        results.put(1, CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        results.put(2, CompletableFuture.completedFuture(null));
+        results.put(3, CompletableFuture.completedFuture(null));
+        givenBatch(failed, heldBack, other);
+
+        outboxRelay.relay();
+
+        // El segundo de order-1 ni siquiera sale: se reintenta junto con el primero
+        assertThat(sentSequences()).containsExactlyInAnyOrder(1, 3);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(other.getId()));
+    }
+
+    @Test
+    void unreadablePayloadIsSetAsideAndTheBatchContinues() {
+        OutboxEvent poison = OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .topic(TOPIC)
+                .messageKey("order-1")
+                .eventType("ORDER_CREATED")
+                .payload("{not json")
+                .build();
+        OutboxEvent next = event("order-1", 1);
+        results.put(1, CompletableFuture.completedFuture(null));
+        givenBatch(poison, next);
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository).markFailed(eq(poison.getId()), anyString(), any(LocalDateTime.class));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(next.getId()));
+    }
+
+    @Test
+    void everyMessageCarriesItsOutboxIdAsEventId() {
+        OutboxEvent event = event("order-1", 1);
+        results.put(1, CompletableFuture.completedFuture(null));
+        givenBatch(event);
+
+        outboxRelay.relay();
+
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0).get("eventId").asText()).isEqualTo(event.getId().toString());
+    }
+
+    private void givenBatch(OutboxEvent... events) {
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(events));
+        Map<String, CompletableFuture<SendResult<String, Object>>> lastByKey = new ConcurrentHashMap<>();
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(1);
+            JsonNode payload = invocation.getArgument(2);
+            sent.add(payload);
+            // Un evento solo sale cuando el anterior de su clave ya fue aceptado
+            CompletableFuture<SendResult<String, Object>> previous = lastByKey.get(key);
+            if (previous != null) {
+                assertThat(previous).isCompleted();
+            }
+            CompletableFuture<SendResult<String, Object>> result = results.get(payload.get("seq").asInt());
+            lastByKey.put(key, result);
+            return result;
+        });
+    }
+
+    private List<Integer> sentSequences() {
+        return sent.stream()
+                .map(payload -> payload.get("seq").asInt())
+                .collect(Collectors.toList());
+    }
+
+    private OutboxEvent event(String key, int seq) {
+        return OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .topic(TOPIC)
+                .messageKey(key)
+                .eventType("ORDER_UPDATED")
+                .payload("{\"seq\":" + seq + "}")
+                .build();
+    }
+}
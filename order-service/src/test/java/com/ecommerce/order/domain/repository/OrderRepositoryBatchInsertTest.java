@@ -0,0 +1,76 @@
+package com.ecommerce.order.domain.repository;
+
+import com.ecommerce.order.domain.model.Order;
+import com.ecommerce.order.domain.model.OrderItem;
+import com.ecommerce.order.domain.model.OrderStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Los items de una orden grande se insertan en lotes: las sentencias preparadas crecen con
+// la cantidad de lotes y no con la cantidad de items
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=" + OrderRepositoryBatchInsertTest.BATCH_SIZE
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+class OrderRepositoryBatchInsertTest {
+    static final int BATCH_SIZE = 50;
+    private static final int ITEMS = 200;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void orderItemsAreInsertedInBatches() {
+        Order order = Order.builder()
+                .userId(UUID.randomUUID())
+                .shippingAddress("Calle Falsa 123")
+                .status(OrderStatus.PENDING)
+                .build();
+        for (int i = 0; i < ITEMS; i++) {
+            order.addItem(OrderItem.builder()
+                    .productId(UUID.randomUUID())
+                    .productName("Product " + i)
+                    .unitPrice(BigDecimal.TEN)
+                    .quantity(1)
+                    .build());
+        }
+        order.calculateTotal();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        orderRepository.save(order);
+        entityManager.flush();
+
+        // Los IDs UUIDv7 se generan en memoria, así que no hay SELECT de secuencia ni INSERT
+        // anticipado: solo el INSERT de la orden y uno por cada lote de items
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + ITEMS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + ITEMS / BATCH_SIZE);
+    }
+}
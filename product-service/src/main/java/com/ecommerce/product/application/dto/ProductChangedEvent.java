@@ -0,0 +1,24 @@
+package com.ecommerce.product.application.dto;
+
+import com.ecommerce.product.domain.model.ProductStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangedEvent {
+    private UUID id;
+    private BigDecimal price;
+    private Integer stock;
+    private ProductStatus status;
+    // Columna @Version del producto: crece con cada escritura, aunque dos escrituras caigan en
+    // el mismo instante o el reloj retroceda; los consumidores descartan eventos más viejos
+    private long version;
+}
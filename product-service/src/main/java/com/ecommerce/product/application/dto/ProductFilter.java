@@ -0,0 +1,18 @@
+package com.ecommerce.product.application.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+public class ProductFilter {
+    private String status;
+    private UUID categoryId;
+    private String search;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Boolean inStock;
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.product.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportError {
+    private int line;
+    private String message;
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.product.application.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ProductImportResult {
+    private long imported;
+    private long failed;
+    // Solo se detallan los primeros errores; failed tiene el total
+    private List<ProductImportError> errors = new ArrayList<>();
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.product.application.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Una fila de la importación masiva; la categoría puede venir por ID o por nombre
+@Data
+@NoArgsConstructor
+public class ProductImportRow {
+    @NotBlank(message = "Name is required")
+    private String name;
+
+    @Size(max = 1000, message = "Description must not exceed 1000 characters")
+    private String description;
+
+    @NotNull(message = "Price is required")
+    @DecimalMin(value = "0.01", message = "Price must be greater than 0")
+    private BigDecimal price;
+
+    @NotNull(message = "Stock is required")
+    @Min(value = 0, message = "Stock cannot be negative")
+    private Integer stock;
+
+    private UUID categoryId;
+
+    private String categoryName;
+
+    private String imageUrl;
+}
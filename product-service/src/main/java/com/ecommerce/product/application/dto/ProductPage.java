@@ -0,0 +1,14 @@
+package com.ecommerce.product.application.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ProductPage {
+    private List<ProductResponse> items;
+    // null cuando no hay más resultados
+    private String nextCursor;
+}
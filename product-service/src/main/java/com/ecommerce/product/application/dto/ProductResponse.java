@@ -21,4 +21,6 @@ public class ProductResponse {
     private String imageUrl;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Misma versión que llevan los eventos de cambio del producto
+    private Long version;
 }
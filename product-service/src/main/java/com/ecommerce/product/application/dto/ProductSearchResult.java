@@ -0,0 +1,20 @@
+package com.ecommerce.product.application.dto;
+
+import com.ecommerce.product.domain.model.ProductStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+public class ProductSearchResult {
+    private UUID id;
+    private String name;
+    private BigDecimal price;
+    private String categoryName;
+    private ProductStatus status;
+    private String imageUrl;
+    private double score;
+}
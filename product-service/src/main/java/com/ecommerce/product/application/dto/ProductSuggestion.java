@@ -0,0 +1,15 @@
+package com.ecommerce.product.application.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class ProductSuggestion {
+    private UUID id;
+    // PRODUCT o CATEGORY
+    private String type;
+    private String text;
+}
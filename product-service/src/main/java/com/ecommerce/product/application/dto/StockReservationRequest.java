@@ -0,0 +1,18 @@
+package com.ecommerce.product.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequest {
+    @NotEmpty(message = "Reservation must have at least one item")
+    @Valid
+    private List<StockItemRequest> items;
+}
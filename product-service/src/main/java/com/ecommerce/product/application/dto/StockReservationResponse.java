@@ -0,0 +1,16 @@
+package com.ecommerce.product.application.dto;
+
+import com.ecommerce.product.domain.model.ReservationStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+public class StockReservationResponse {
+    private UUID id;
+    private ReservationStatus status;
+    private LocalDateTime expiresAt;
+}
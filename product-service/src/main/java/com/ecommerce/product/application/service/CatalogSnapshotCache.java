@@ -0,0 +1,110 @@
+package com.ecommerce.product.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+// Respuestas públicas del catálogo ya serializadas (JSON plano y gzip) por combinación de filtros.
+// Cualquier escritura de productos o categorías reemplaza la generación completa al confirmar
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSnapshotCache {
+    private final ObjectMapper objectMapper;
+
+    @Value("${catalog.snapshot.max-entries:1000}")
+    private int maxEntries;
+
+    // Respaldo para cambios hechos por otras instancias, que no invalidan esta
+    @Value("${catalog.snapshot.max-age-ms:5000}")
+    private long maxAgeMillis;
+
+    private final AtomicReference<Generation> current = new AtomicReference<>(new Generation());
+
+    // Quien arma un snapshot lo guarda en la generación que leyó al empezar; si hubo una
+    // escritura en el medio, ese snapshot queda en una generación descartada
+    public Generation current() {
+        return current.get();
+    }
+
+    public Snapshot serialize(Object body, LocalDateTime version, String nextCursor) {
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(body);
+            return new Snapshot(identity, gzip(identity), version, nextCursor, System.currentTimeMillis());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog snapshot", e);
+        }
+    }
+
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    public void invalidate() {
+        current.set(new Generation());
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    public class Generation {
+        private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+        public Snapshot get(String key) {
+            Snapshot snapshot = snapshots.get(key);
+            if (snapshot == null || System.currentTimeMillis() - snapshot.createdAt > maxAgeMillis) {
+                return null;
+            }
+            return snapshot;
+        }
+
+        // Con el mapa lleno se sigue respondiendo, solo que sin guardar combinaciones nuevas
+        public Snapshot put(String key, Snapshot snapshot) {
+            if (snapshots.size() < maxEntries || snapshots.containsKey(key)) {
+                snapshots.put(key, snapshot);
+            }
+            return snapshot;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Snapshot {
+        private final byte[] identity;
+        private final byte[] gzip;
+        private final LocalDateTime version;
+        private final String nextCursor;
+        private final long createdAt;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.product.application.service;
+
+import com.ecommerce.product.application.dto.ProductChangedEvent;
+import com.ecommerce.product.domain.model.ProductStatus;
+import com.ecommerce.product.domain.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+// Publica el estado de los productos modificados una vez que la transacción confirma
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductEventPublisher {
+    private final ProductRepository productRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${product-events.topic:product-changed}")
+    private String topic;
+
+    public void publishAfterCommit(Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(loadEvents(productIds));
+            return;
+        }
+
+        // Varias llamadas dentro de la misma transacción se juntan en un solo envío
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.productIds.addAll(productIds);
+    }
+
+    private List<ProductChangedEvent> loadEvents(Collection<UUID> productIds) {
+        List<ProductChangedEvent> events = new ArrayList<>();
+        for (Object[] row : productRepository.findChangeStateByIdIn(productIds)) {
+            events.add(ProductChangedEvent.builder()
+                    .id((UUID) row[0])
+                    .price((BigDecimal) row[1])
+                    .stock((Integer) row[2])
+                    .status((ProductStatus) row[3])
+                    .version((Long) row[4])
+                    .build());
+        }
+        return events;
+    }
+
+    // El productor agrupa los envíos en lotes; la clave mantiene el orden por producto
+    private void send(List<ProductChangedEvent> events) {
+        for (ProductChangedEvent event : events) {
+            kafkaTemplate.send(topic, event.getId().toString(), event)
+                    .whenComplete((result, e) -> {
+                        if (e != null) {
+                            log.error("Error publishing product change {}: {}", event.getId(), e.getMessage());
+                        }
+                    });
+        }
+    }
+
+    private class PendingChanges implements TransactionSynchronization {
+        private final Set<UUID> productIds = new TreeSet<>();
+        private List<ProductChangedEvent> events = List.of();
+
+        // Se lee el estado dentro de la transacción, con las escrituras ya aplicadas
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            events = loadEvents(productIds);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ProductEventPublisher.this);
+            if (status == STATUS_COMMITTED) {
+                send(events);
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.ecommerce.product.application.service;
+
+import com.ecommerce.product.application.dto.ProductSearchResult;
+import com.ecommerce.product.domain.model.Product;
+import com.ecommerce.product.domain.model.ProductStatus;
+import com.ecommerce.product.domain.repository.ProductRepository;
+import com.ecommerce.product.domain.repository.ProductSpecifications;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Índice invertido en memoria sobre nombre, categoría y descripción; las búsquedas no tocan la base de datos
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex {
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double CATEGORY_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    // Un término que solo coincide por prefijo puntúa menos que uno exacto
+    private static final double PREFIX_FACTOR = 0.6;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // término -> (producto -> peso); ordenado para poder recorrer rangos de prefijo
+    private final NavigableMap<String, Map<UUID, Double>> postings = new TreeMap<>();
+    private final Map<UUID, IndexedProduct> documents = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Product> products = productRepository.findAll(ProductSpecifications.fetchCategory());
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            products.forEach(this::addDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product search index built with {} products and {} terms", documents.size(), postings.size());
+    }
+
+    public void index(Product product) {
+        afterCommit(() -> apply(product));
+    }
+
+    private void apply(Product product) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(product.getId());
+            addDocument(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID productId) {
+        afterCommit(() -> applyRemoval(productId));
+    }
+
+    private void applyRemoval(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ProductSearchResult> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Cada token debe coincidir (exacto o por prefijo) con algún término del producto
+            Map<UUID, Double> scores = null;
+            for (String token : new HashSet<>(tokens)) {
+                Map<UUID, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<UUID, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(entry -> documents.get(entry.getKey()).name()))
+                    .limit(limit)
+                    .map(entry -> documents.get(entry.getKey()).toResult(entry.getValue()))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<UUID, Double> scoreToken(String token) {
+        Map<UUID, Double> scores = new HashMap<>();
+        NavigableMap<String, Map<UUID, Double>> matches =
+                postings.subMap(token, true, token + Character.MAX_VALUE, false);
+
+        matches.forEach((term, docs) -> {
+            double factor = term.equals(token) ? 1.0 : PREFIX_FACTOR;
+            // Por token se toma la mejor coincidencia de cada producto
+            docs.forEach((id, weight) -> scores.merge(id, weight * factor, Math::max));
+        });
+        return scores;
+    }
+
+    private void addDocument(Product product) {
+        // Los productos eliminados (soft delete) no aparecen en la búsqueda
+        if (product.getStatus() == ProductStatus.INACTIVE) {
+            return;
+        }
+
+        String categoryName = product.getCategory() != null ? product.getCategory().getName() : null;
+
+        Map<String, Double> weights = new HashMap<>();
+        addTerms(weights, product.getName(), NAME_WEIGHT);
+        addTerms(weights, categoryName, CATEGORY_WEIGHT);
+        addTerms(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>())
+                .put(product.getId(), weight));
+
+        documents.put(product.getId(), new IndexedProduct(product.getId(), product.getName(), product.getPrice(),
+                categoryName, product.getStatus(), product.getImageUrl(), Set.copyOf(weights.keySet())));
+    }
+
+    private void removeDocument(UUID productId) {
+        IndexedProduct previous = documents.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            Map<UUID, Double> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(productId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private void addTerms(Map<String, Double> weights, String text, double weight) {
+        for (String token : tokenize(text)) {
+            // Un término repetido en varios campos suma sus pesos
+            weights.merge(token, weight, Double::sum);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD))
+                .replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Los cambios hechos dentro de una transacción llegan al índice recién cuando confirma: un
+    // rollback no deja entradas fantasma
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private record IndexedProduct(UUID id, String name, BigDecimal price, String categoryName,
+            ProductStatus status, String imageUrl, Set<String> terms) {
+
+        ProductSearchResult toResult(double score) {
+            return ProductSearchResult.builder()
+                    .id(id)
+                    .name(name)
+                    .price(price)
+                    .categoryName(categoryName)
+                    .status(status)
+                    .imageUrl(imageUrl)
+                    .score(score)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.ecommerce.product.application.service;
+
+import com.ecommerce.product.application.dto.ProductSuggestion;
+import com.ecommerce.product.domain.model.Category;
+import com.ecommerce.product.domain.model.Product;
+import com.ecommerce.product.domain.model.ProductStatus;
+import com.ecommerce.product.domain.repository.CategoryRepository;
+import com.ecommerce.product.domain.repository.ProductRepository;
+import com.ecommerce.product.domain.repository.ProductSpecifications;
+import com.ecommerce.product.domain.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Trie de nombres de productos y categorías para autocompletado. Cada nodo guarda su top-K
+// precalculado, así una consulta cuesta lo que mide el prefijo y no lo que mide el catálogo
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSuggestionIndex {
+    private static final String PRODUCT = "PRODUCT";
+    private static final String CATEGORY = "CATEGORY";
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private static final Comparator<Suggestion> RANKING = Comparator
+            .comparingLong((Suggestion suggestion) -> suggestion.popularity).reversed()
+            .thenComparing(suggestion -> suggestion.text);
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final StockReservationRepository stockReservationRepository;
+
+    @Value("${suggest.top-k:10}")
+    private int topK;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node();
+    private final Map<UUID, Suggestion> products = new HashMap<>();
+    private final Map<UUID, Suggestion> categories = new HashMap<>();
+    // Ventas confirmadas pendientes de aplicar; se vuelcan al trie periódicamente
+    private final Map<UUID, Long> pendingSales = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<UUID, Long> sales = new HashMap<>();
+        for (Object[] row : stockReservationRepository.sumConfirmedQuantitiesByProduct()) {
+            sales.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+        List<Category> allCategories = categoryRepository.findAll();
+        List<Product> allProducts = productRepository.findAll(ProductSpecifications.fetchCategory());
+
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            products.clear();
+            categories.clear();
+
+            for (Category category : allCategories) {
+                Suggestion suggestion = new Suggestion(category.getId(), CATEGORY, category.getName(), null);
+                categories.put(category.getId(), suggestion);
+                addKeys(suggestion);
+            }
+            for (Product product : allProducts) {
+                if (product.getStatus() == ProductStatus.INACTIVE) {
+                    continue;
+                }
+                Suggestion suggestion = new Suggestion(product.getId(), PRODUCT, product.getName(),
+                        product.getCategory() != null ? product.getCategory().getId() : null);
+                suggestion.popularity = sales.getOrDefault(product.getId(), 0L);
+                products.put(product.getId(), suggestion);
+                addKeys(suggestion);
+
+                // Las categorías se ordenan por cantidad de productos
+                Suggestion category = categories.get(suggestion.categoryId);
+                if (category != null) {
+                    category.popularity++;
+                }
+            }
+
+            recomputeAll(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Suggestion trie built with {} products and {} categories", products.size(), categories.size());
+    }
+
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < normalized.length() && node != null; i++) {
+                node = node.child(normalized.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return Arrays.stream(node.top)
+                    .limit(limit)
+                    .map(Suggestion::toResponse)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void indexProduct(Product product) {
+        afterCommit(() -> applyProduct(product));
+    }
+
+    private void applyProduct(Product product) {
+        lock.writeLock().lock();
+        try {
+            Suggestion previous = products.remove(product.getId());
+            long popularity = 0;
+            if (previous != null) {
+                popularity = previous.popularity;
+                removeSuggestion(previous);
+                changeCategoryCount(previous.categoryId, -1);
+            }
+
+            if (product.getStatus() != ProductStatus.INACTIVE) {
+                Suggestion suggestion = new Suggestion(product.getId(), PRODUCT, product.getName(),
+                        product.getCategory() != null ? product.getCategory().getId() : null);
+                suggestion.popularity = popularity;
+                products.put(product.getId(), suggestion);
+                addSuggestion(suggestion);
+                changeCategoryCount(suggestion.categoryId, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeProduct(UUID productId) {
+        afterCommit(() -> applyRemoval(productId));
+    }
+
+    private void applyRemoval(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            Suggestion previous = products.remove(productId);
+            if (previous != null) {
+                removeSuggestion(previous);
+                changeCategoryCount(previous.categoryId, -1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexCategory(Category category) {
+        afterCommit(() -> applyCategory(category));
+    }
+
+    private void applyCategory(Category category) {
+        lock.writeLock().lock();
+        try {
+            Suggestion previous = categories.remove(category.getId());
+            Suggestion suggestion = new Suggestion(category.getId(), CATEGORY, category.getName(), null);
+            if (previous != null) {
+                suggestion.popularity = previous.popularity;
+                removeSuggestion(previous);
+            }
+            categories.put(category.getId(), suggestion);
+            addSuggestion(suggestion);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Se llama en la ruta de compra: solo acumula, sin tomar el lock del trie
+    public void recordSales(UUID productId, int quantity) {
+        afterCommit(() -> pendingSales.merge(productId, (long) quantity, Long::sum));
+    }
+
+    @Scheduled(fixedDelayString = "${suggest.popularity-flush-ms:30000}")
+    public void flushSales() {
+        if (pendingSales.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (UUID productId : new ArrayList<>(pendingSales.keySet())) {
+                Long quantity = pendingSales.remove(productId);
+                Suggestion suggestion = products.get(productId);
+                if (quantity != null && suggestion != null) {
+                    suggestion.popularity += quantity;
+                    suggestion.keys.forEach(this::recomputePath);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void changeCategoryCount(UUID categoryId, int delta) {
+        Suggestion category = categoryId != null ? categories.get(categoryId) : null;
+        if (category != null) {
+            category.popularity += delta;
+            category.keys.forEach(this::recomputePath);
+        }
+    }
+
+    private void addSuggestion(Suggestion suggestion) {
+        addKeys(suggestion);
+        suggestion.keys.forEach(this::recomputePath);
+    }
+
+    private void addKeys(Suggestion suggestion) {
+        for (String key : suggestion.keys) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.getOrCreateChild(key.charAt(i));
+            }
+            node.addTerminal(suggestion);
+        }
+    }
+
+    private void removeSuggestion(Suggestion suggestion) {
+        for (String key : suggestion.keys) {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node != null) {
+                node.removeTerminal(suggestion);
+            }
+            recomputePath(key);
+        }
+    }
+
+    // Recalcula el top-K desde la hoja hasta la raíz y poda los nodos que quedaron vacíos
+    private void recomputePath(String key) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i));
+            if (node == null) {
+                break;
+            }
+            path.add(node);
+        }
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            if (i > 0 && current.isEmpty()) {
+                path.get(i - 1).removeChild(key.charAt(i - 1));
+            } else {
+                current.top = rank(current);
+            }
+        }
+    }
+
+    private void recomputeAll(Node node) {
+        for (Node child : node.children) {
+            recomputeAll(child);
+        }
+        node.top = rank(node);
+    }
+
+    // El top de un nodo sale de sus propios términos más el top de cada hijo
+    private Suggestion[] rank(Node node) {
+        Set<Suggestion> candidates = new LinkedHashSet<>();
+        if (node.terminals != null) {
+            candidates.addAll(node.terminals);
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        return candidates.stream()
+                .sorted(RANKING)
+                .limit(topK)
+                .toArray(Suggestion[]::new);
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD))
+                .replaceAll("");
+        return SEPARATORS.matcher(stripped).replaceAll(" ").trim();
+    }
+
+    // Los cambios hechos dentro de una transacción llegan al trie recién cuando confirma: un
+    // rollback no deja sugerencias fantasma ni ventas que no ocurrieron
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private static final class Suggestion {
+        private final UUID id;
+        private final String type;
+        private final String text;
+        private final UUID categoryId;
+        // Claves: el nombre completo y cada sufijo que empieza en una palabra
+        private final List<String> keys;
+        private long popularity;
+
+        private Suggestion(UUID id, String type, String text, UUID categoryId) {
+            this.id = id;
+            this.type = type;
+            this.text = text;
+            this.categoryId = categoryId;
+
+            String normalized = normalize(text);
+            List<String> wordSuffixes = new ArrayList<>();
+            for (int i = 0; i < normalized.length(); i++) {
+                if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                    wordSuffixes.add(normalized.substring(i));
+                }
+            }
+            this.keys = List.copyOf(wordSuffixes);
+        }
+
+        private ProductSuggestion toResponse() {
+            return ProductSuggestion.builder()
+                    .id(id)
+                    .type(type)
+                    .text(text)
+                    .build();
+        }
+    }
+
+    // Hijos en arreglos ordenados en lugar de mapas: mucho menos memoria por nodo
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private List<Suggestion> terminals;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node getOrCreateChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        private void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys.length == 0 ? NO_KEYS : newKeys;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+
+        private void addTerminal(Suggestion suggestion) {
+            if (terminals == null) {
+                terminals = new ArrayList<>(1);
+            }
+            terminals.add(suggestion);
+        }
+
+        private void removeTerminal(Suggestion suggestion) {
+            if (terminals != null) {
+                terminals.remove(suggestion);
+                if (terminals.isEmpty()) {
+                    terminals = null;
+                }
+            }
+        }
+
+        private boolean isEmpty() {
+            return keys.length == 0 && terminals == null;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.product.application.service;
+
+import com.ecommerce.product.application.usecase.ConfirmReservationUseCase;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+// Recibe de order-service (vía su outbox) las reservas cuyas órdenes ya hicieron commit
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationConfirmationListener {
+    private final ConfirmReservationUseCase confirmReservationUseCase;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = "${reservations.confirmations.topic:stock-reservation-confirmations}",
+            groupId = "${reservations.confirmations.group-id:product-service-reservation-confirmations}")
+    public void onReservationConfirmed(String message) {
+        UUID reservationId;
+        UUID orderId;
+        try {
+            JsonNode event = objectMapper.readTree(message);
+            reservationId = UUID.fromString(event.path("reservationId").asText());
+            orderId = event.hasNonNull("orderId") ? UUID.fromString(event.get("orderId").asText()) : null;
+        } catch (Exception e) {
+            log.error("Discarding malformed reservation confirmation: {}", message, e);
+            return;
+        }
+
+        // Los errores de base de datos se propagan: el contenedor reintenta el mismo mensaje
+        confirmReservationUseCase.confirmCommittedOrder(reservationId, orderId);
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.product.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Avisa a order-service que una orden ya confirmada se quedó sin su reserva (venció y el stock
+// ya no alcanza) para que la cancele. Sale cuando la transacción confirma, como los cambios de
+// productos
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationRejectionPublisher {
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${reservations.rejections.topic:stock-reservation-rejections}")
+    private String topic;
+
+    public void publishAfterCommit(UUID reservationId, UUID orderId, String reason) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("reservationId", reservationId);
+        event.put("orderId", orderId);
+        event.put("reason", reason);
+        event.put("eventType", "RESERVATION_REJECTED");
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(reservationId, event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(reservationId, event);
+            }
+        });
+    }
+
+    private void send(UUID reservationId, Map<String, Object> event) {
+        kafkaTemplate.send(topic, reservationId.toString(), event)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.error("Error publishing rejection of reservation {}: {}", reservationId, e.getMessage());
+                    }
+                });
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecommerce.product.application.service;
+
+import com.ecommerce.product.domain.model.StockShard;
+import com.ecommerce.product.domain.repository.ProductRepository;
+import com.ecommerce.product.domain.repository.StockShardRepository;
+import com.ecommerce.product.infrastructure.exception.InsufficientStockException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Movimientos de stock que funcionan tanto para productos normales como fragmentados.
+// Se intenta primero la fila del producto; si no aplica, se va a sus contadores
+@Service
+@RequiredArgsConstructor
+public class ShardedStockService {
+    private final ProductRepository productRepository;
+    private final StockShardRepository stockShardRepository;
+
+    public boolean reserve(UUID productId, int quantity, LocalDateTime now) {
+        if (productRepository.decrementStock(productId, quantity, now) > 0) {
+            return true;
+        }
+        return takeFromShards(productId, quantity);
+    }
+
+    public void restock(UUID productId, int quantity, LocalDateTime now) {
+        if (productRepository.incrementStock(productId, quantity, now) > 0) {
+            return;
+        }
+        if (!addToShards(productId, quantity)) {
+            // Se dejó de fragmentar mientras tanto: el stock volvió a la fila del producto
+            productRepository.incrementStock(productId, quantity, now);
+        }
+    }
+
+    public boolean isSharded(UUID productId) {
+        return productRepository.existsByIdAndStockShardsIsNotNull(productId);
+    }
+
+    // Marca sin stock a los productos que se quedaron en cero. En los fragmentados products.stock
+    // solo se sincroniza al rebalancear, así que se decide con la suma de sus contadores
+    public void markOutOfStock(Collection<UUID> productIds, LocalDateTime now) {
+        List<UUID> unsharded = new ArrayList<>();
+        for (UUID productId : productIds) {
+            if (!isSharded(productId)) {
+                unsharded.add(productId);
+            } else if (stockShardRepository.findStocksByProductId(productId).stream()
+                    .mapToInt(Integer::intValue).sum() == 0) {
+                productRepository.syncStock(productId, 0, now);
+                unsharded.add(productId);
+            }
+        }
+        if (!unsharded.isEmpty()) {
+            productRepository.markOutOfStock(unsharded);
+        }
+    }
+
+    // Ajuste administrativo: bloquea todos los contadores, reparte el nuevo total y actualiza el producto
+    @Transactional
+    public void adjust(UUID productId, int delta, LocalDateTime now) {
+        List<StockShard> shards = stockShardRepository.lockByProductId(productId);
+        int total = total(shards) + delta;
+        if (total < 0) {
+            throw new InsufficientStockException("Insufficient stock");
+        }
+        distribute(shards, total);
+        syncProduct(productId, total, now);
+    }
+
+    @Transactional
+    public void redistribute(UUID productId, int total, LocalDateTime now) {
+        distribute(stockShardRepository.lockByProductId(productId), total);
+        syncProduct(productId, total, now);
+    }
+
+    // Reparte el total en partes iguales; el resto va a los primeros contadores
+    public void distribute(List<StockShard> shards, int total) {
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).setStock(total / shards.size() + (i < total % shards.size() ? 1 : 0));
+        }
+    }
+
+    public int total(List<StockShard> shards) {
+        return shards.stream().mapToInt(StockShard::getStock).sum();
+    }
+
+    // Refleja en products.stock la suma de los contadores, que es lo que leen los listados
+    public boolean syncProduct(UUID productId, int total, LocalDateTime now) {
+        if (productRepository.syncStock(productId, total, now) == 0) {
+            return false;
+        }
+        List<UUID> productIds = List.of(productId);
+        productRepository.markOutOfStock(productIds);
+        productRepository.reactivateRestocked(productIds);
+        return true;
+    }
+
+    private boolean takeFromShards(UUID productId, int quantity) {
+        Optional<UUID> shard = stockShardRepository.pickShardWithStock(productId, quantity);
+        if (shard.isPresent()) {
+            stockShardRepository.addToShard(shard.get(), -quantity);
+            return true;
+        }
+
+        // Ningún contador libre alcanza solo: se bloquean todos y se descuenta de varios
+        List<StockShard> shards = stockShardRepository.lockByProductId(productId);
+        if (shards.isEmpty() || total(shards) < quantity) {
+            return false;
+        }
+        int remaining = quantity;
+        for (StockShard candidate : shards.stream()
+                .sorted(Comparator.comparing(StockShard::getStock).reversed())
+                .collect(Collectors.toList())) {
+            int taken = Math.min(candidate.getStock(), remaining);
+            candidate.setStock(candidate.getStock() - taken);
+            remaining -= taken;
+            if (remaining == 0) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private boolean addToShards(UUID productId, int quantity) {
+        Optional<UUID> shard = stockShardRepository.pickUnlockedShard(productId);
+        if (shard.isPresent()) {
+            return stockShardRepository.addToShard(shard.get(), quantity) > 0;
+        }
+        return stockShardRepository.addToFirstShard(productId, quantity) > 0;
+    }
+}
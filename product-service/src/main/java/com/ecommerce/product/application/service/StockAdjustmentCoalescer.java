@@ -0,0 +1,217 @@
+package com.ecommerce.product.application.service;
+
+import com.ecommerce.product.domain.repository.ProductRepository;
+import com.ecommerce.product.infrastructure.exception.InsufficientStockException;
+import com.ecommerce.product.infrastructure.exception.ProductNotFoundException;
+import com.ecommerce.product.infrastructure.exception.StockUpdateUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Junta los ajustes de stock concurrentes de un mismo producto en un solo UPDATE condicional.
+// Cada petición recibe un future que se completa recién cuando su ajuste quedó confirmado
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockAdjustmentCoalescer {
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ProductEventPublisher productEventPublisher;
+
+    @Value("${stock.coalescing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${stock.coalescing.stripes:16}")
+    private int stripeCount;
+
+    @Value("${stock.coalescing.flush-interval-ms:5}")
+    private long flushIntervalMs;
+
+    @Value("${stock.coalescing.flush-threads:2}")
+    private int flushThreads;
+
+    private Stripe[] stripes;
+    private ScheduledExecutorService flusher;
+    private volatile boolean stopped;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+
+        stripes = new Stripe[stripeCount];
+        AtomicInteger threadNumber = new AtomicInteger();
+        flusher = Executors.newScheduledThreadPool(flushThreads, runnable -> {
+            Thread thread = new Thread(runnable, "stock-coalescer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Un producto siempre cae en la misma franja, así sus ajustes se aplican en orden
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = new Stripe();
+            stripes[i] = stripe;
+            flusher.scheduleWithFixedDelay(() -> flush(stripe), flushIntervalMs, flushIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+        log.info("Stock coalescing enabled with {} stripes every {} ms", stripeCount, flushIntervalMs);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        // A partir de acá no entran ajustes nuevos; los ya encolados se aplican abajo
+        stopped = true;
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        for (Stripe stripe : stripes) {
+            flush(stripe);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Encola el ajuste y espera a que su lote confirme. Si el plazo vence antes de que un lote lo
+    // tome, se descarta y la petición falla; si ya lo tomó, se espera ese commit en lugar de
+    // responder 503 por un cambio que igual queda guardado (y que el cliente reintentaría)
+    public void adjust(UUID productId, int delta, long timeoutMs) {
+        Adjustment adjustment = submit(productId, delta);
+        try {
+            try {
+                adjustment.done.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (adjustment.claimed.compareAndSet(false, true)) {
+                    throw new StockUpdateUnavailableException("Stock update timed out, please retry");
+                }
+                adjustment.done.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StockUpdateUnavailableException("Interrupted while waiting for stock update");
+        }
+    }
+
+    private Adjustment submit(UUID productId, int delta) {
+        Adjustment adjustment = new Adjustment(delta, new CompletableFuture<>(), new AtomicBoolean());
+        Stripe stripe = stripes[Math.floorMod(productId.hashCode(), stripes.length)];
+        synchronized (stripe) {
+            if (stopped) {
+                adjustment.done.completeExceptionally(
+                        new StockUpdateUnavailableException("Service is shutting down, please retry"));
+                return adjustment;
+            }
+            stripe.pending.computeIfAbsent(productId, id -> new ArrayList<>()).add(adjustment);
+        }
+        return adjustment;
+    }
+
+    private void flush(Stripe stripe) {
+        Map<UUID, List<Adjustment>> batch;
+        synchronized (stripe) {
+            if (stripe.pending.isEmpty()) {
+                return;
+            }
+            batch = stripe.pending;
+            stripe.pending = new HashMap<>();
+        }
+        batch.forEach(this::apply);
+    }
+
+    private void apply(UUID productId, List<Adjustment> pending) {
+        // Cada ajuste se reclama antes de abrir la transacción; los que su petición ya reclamó al
+        // vencer el plazo (respondió 503) no se aplican, y los reclamados acá ya no pueden vencer
+        List<Adjustment> adjustments = pending.stream()
+                .filter(adjustment -> adjustment.claimed.compareAndSet(false, true))
+                .collect(Collectors.toList());
+        if (adjustments.isEmpty()) {
+            return;
+        }
+
+        List<RuntimeException> failures;
+        try {
+            failures = transactionTemplate.execute(status -> applyInTransaction(productId, adjustments));
+        } catch (RuntimeException e) {
+            log.error("Error applying {} stock adjustments to product {}: {}",
+                    adjustments.size(), productId, e.getMessage());
+            adjustments.forEach(adjustment -> adjustment.done.completeExceptionally(e));
+            return;
+        }
+
+        // Ya confirmado: recién ahora se libera a cada petición
+        for (int i = 0; i < adjustments.size(); i++) {
+            RuntimeException failure = failures.get(i);
+            if (failure == null) {
+                adjustments.get(i).done.complete(null);
+            } else {
+                adjustments.get(i).done.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private List<RuntimeException> applyInTransaction(UUID productId, List<Adjustment> adjustments) {
+        LocalDateTime now = LocalDateTime.now();
+        int total = adjustments.stream().mapToInt(adjustment -> adjustment.delta).sum();
+
+        List<RuntimeException> failures = new ArrayList<>(adjustments.size());
+        if (productRepository.adjustStock(productId, total, now) > 0) {
+            adjustments.forEach(adjustment -> failures.add(null));
+        } else {
+            // El total no alcanza: se aplican de a uno en orden de llegada y solo fallan los que no entran
+            boolean exists = productRepository.existsById(productId);
+            for (Adjustment adjustment : adjustments) {
+                if (!exists) {
+                    failures.add(new ProductNotFoundException("Product not found"));
+                } else if (productRepository.adjustStock(productId, adjustment.delta, now) == 0) {
+                    failures.add(new InsufficientStockException("Insufficient stock"));
+                } else {
+                    failures.add(null);
+                }
+            }
+        }
+
+        List<UUID> productIds = List.of(productId);
+        productRepository.markOutOfStock(productIds);
+        productRepository.reactivateRestocked(productIds);
+        catalogSnapshotCache.invalidateAfterCommit();
+        productEventPublisher.publishAfterCommit(productIds);
+        return failures;
+    }
+
+    private static class Stripe {
+        private Map<UUID, List<Adjustment>> pending = new HashMap<>();
+    }
+
+    private record Adjustment(int delta, CompletableFuture<Void> done, AtomicBoolean claimed) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.product.application.usecase;
+
+import com.ecommerce.product.application.dto.CategoryResponse;
+import com.ecommerce.product.application.dto.ProductResponse;
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
+import com.ecommerce.product.application.service.ProductEventPublisher;
+import com.ecommerce.product.application.service.ShardedStockService;
+import com.ecommerce.product.domain.model.Product;
+import com.ecommerce.product.domain.model.ProductStatus;
+import com.ecommerce.product.domain.model.StockShard;
+import com.ecommerce.product.domain.repository.ProductRepository;
+import com.ecommerce.product.domain.repository.StockShardRepository;
+import com.ecommerce.product.infrastructure.exception.InvalidStockShardsException;
+import com.ecommerce.product.infrastructure.exception.ProductNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Activa o desactiva el stock fragmentado de un producto. Ambos caminos bloquean la fila del
+// producto, así las compras en curso terminan antes o ven el cambio ya hecho
+@Service
+@RequiredArgsConstructor
+public class ConfigureStockShardsUseCase {
+    public static final int MAX_SHARDS = 64;
+
+    private final ProductRepository productRepository;
+    private final StockShardRepository stockShardRepository;
+    private final ShardedStockService shardedStockService;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ProductEventPublisher productEventPublisher;
+
+    @Transactional
+    public ProductResponse enable(UUID productId, int shardCount) {
+        if (shardCount < 2 || shardCount > MAX_SHARDS) {
+            throw new InvalidStockShardsException("Shard count must be between 2 and " + MAX_SHARDS);
+        }
+
+        Product product = productRepository.findForUpdateById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found"));
+
+        int total = product.getStock();
+        if (product.getStockShards() != null) {
+            total = shardedStockService.total(stockShardRepository.lockByProductId(productId));
+            stockShardRepository.deleteByProductId(productId);
+        }
+
+        List<StockShard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(StockShard.builder()
+                    .productId(productId)
+                    .shard(i)
+                    .build());
+        }
+        shardedStockService.distribute(shards, total);
+        stockShardRepository.saveAll(shards);
+
+        product.setStock(total);
+        product.setStockShards(shardCount);
+        return finish(product);
+    }
+
+    @Transactional
+    public ProductResponse disable(UUID productId) {
+        Product product = productRepository.findForUpdateById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found"));
+
+        if (product.getStockShards() != null) {
+            int total = shardedStockService.total(stockShardRepository.lockByProductId(productId));
+            stockShardRepository.deleteByProductId(productId);
+
+            product.setStock(total);
+            product.setStockShards(null);
+            if (total == 0) {
+                product.setStatus(ProductStatus.OUT_OF_STOCK);
+            } else if (product.getStatus() == ProductStatus.OUT_OF_STOCK) {
+                product.setStatus(ProductStatus.ACTIVE);
+            }
+        }
+        return finish(product);
+    }
+
+    private ProductResponse finish(Product product) {
+        catalogSnapshotCache.invalidateAfterCommit();
+        productEventPublisher.publishAfterCommit(List.of(product.getId()));
+        return mapToResponse(product);
+    }
+
+    private ProductResponse mapToResponse(Product product) {
+        return ProductResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stock(product.getStock())
+                .category(CategoryResponse.builder()
+                        .id(product.getCategory().getId())
+                        .name(product.getCategory().getName())
+                        .description(product.getCategory().getDescription())
+                        .build())
+                .status(product.getStatus())
+                .imageUrl(product.getImageUrl())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.ecommerce.product.application.usecase;
+
+import com.ecommerce.product.application.dto.StockReservationResponse;
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
+import com.ecommerce.product.application.service.ProductEventPublisher;
+import com.ecommerce.product.application.service.ProductSuggestionIndex;
+import com.ecommerce.product.application.service.ReservationRejectionPublisher;
+import com.ecommerce.product.application.service.ShardedStockService;
+import com.ecommerce.product.domain.model.ReservationItem;
+import com.ecommerce.product.domain.model.ReservationStatus;
+import com.ecommerce.product.domain.model.StockReservation;
+import com.ecommerce.product.domain.repository.StockReservationRepository;
+import com.ecommerce.product.infrastructure.exception.InvalidReservationStateException;
+import com.ecommerce.product.infrastructure.exception.ReservationNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ConfirmReservationUseCase {
+    private final StockReservationRepository stockReservationRepository;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ProductEventPublisher productEventPublisher;
+    private final ShardedStockService shardedStockService;
+    private final ReservationRejectionPublisher reservationRejectionPublisher;
+
+    @Transactional
+    public StockReservationResponse execute(UUID reservationId) {
+        int confirmed = stockReservationRepository.transition(reservationId, List.of(ReservationStatus.RESERVED),
+                ReservationStatus.CONFIRMED, LocalDateTime.now());
+
+        StockReservation reservation = stockReservationRepository.findById(reservationId)
+                .orElseThrow(() -> new ReservationNotFoundException("Reservation not found"));
+
+        // Confirmar dos veces es válido; una reserva liberada o vencida ya devolvió su stock
+        if (reservation.getStatus() != ReservationStatus.CONFIRMED) {
+            throw new InvalidReservationStateException(
+                    "Reservation cannot be confirmed from status " + reservation.getStatus());
+        }
+
+        // Solo la primera confirmación cuenta como venta para el ranking de sugerencias
+        if (confirmed > 0) {
+            recordSales(reservation);
+        }
+
+        return mapToResponse(reservation);
+    }
+
+    // Confirmación que order-service envía por Kafka cuando la orden ya hizo commit: la orden
+    // existe, así que una reserva vencida mientras tanto se recupera si todavía hay stock; si no,
+    // queda liberada y se le avisa a order-service para que cancele la orden
+    @Transactional
+    public void confirmCommittedOrder(UUID reservationId, UUID orderId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (stockReservationRepository.transition(reservationId, List.of(ReservationStatus.RESERVED),
+                ReservationStatus.CONFIRMED, now) > 0) {
+            stockReservationRepository.findByIdWithItems(reservationId).ifPresent(this::recordSales);
+            return;
+        }
+
+        Optional<StockReservation> found = stockReservationRepository.findByIdWithItems(reservationId);
+        if (found.isEmpty()) {
+            log.warn("Ignoring confirmation of unknown reservation {}", reservationId);
+            return;
+        }
+
+        // Confirmada antes (mensaje repetido) o liberada por una cancelación, incluso después de
+        // vencer (RELEASED es final): no hay nada que hacer
+        StockReservation reservation = found.get();
+        if (reservation.getStatus() != ReservationStatus.EXPIRED
+                || stockReservationRepository.transition(reservationId, List.of(ReservationStatus.EXPIRED),
+                        ReservationStatus.CONFIRMED, now) == 0) {
+            return;
+        }
+
+        // El barrido de vencidas ya devolvió el stock: se vuelve a descontar, todo o nada
+        List<ReservationItem> items = reservation.getItems().stream()
+                .sorted(Comparator.comparing(ReservationItem::getProductId))
+                .collect(Collectors.toList());
+        List<ReservationItem> taken = new ArrayList<>();
+        for (ReservationItem item : items) {
+            if (!shardedStockService.reserve(item.getProductId(), item.getQuantity(), now)) {
+                reject(reservation, orderId, item, taken, now);
+                return;
+            }
+            taken.add(item);
+        }
+        List<UUID> productIds = items.stream()
+                .map(ReservationItem::getProductId)
+                .collect(Collectors.toList());
+        shardedStockService.markOutOfStock(productIds, now);
+        catalogSnapshotCache.invalidateAfterCommit();
+        productEventPublisher.publishAfterCommit(productIds);
+        recordSales(reservation);
+        log.info("Reclaimed stock of expired reservation {} for a committed order", reservationId);
+    }
+
+    // Se devuelve lo que ya se había vuelto a descontar y la reserva queda liberada: no cuenta como
+    // venta y ninguna confirmación o liberación posterior la vuelve a tocar
+    private void reject(StockReservation reservation, UUID orderId, ReservationItem missing,
+            List<ReservationItem> taken, LocalDateTime now) {
+        for (ReservationItem item : taken) {
+            shardedStockService.restock(item.getProductId(), item.getQuantity(), now);
+        }
+        stockReservationRepository.transition(reservation.getId(), List.of(ReservationStatus.CONFIRMED),
+                ReservationStatus.RELEASED, now);
+
+        String reason = "Reservation expired and product " + missing.getProductId() + " no longer has "
+                + missing.getQuantity() + " units";
+        reservationRejectionPublisher.publishAfterCommit(reservation.getId(), orderId, reason);
+        log.warn("Rejected confirmation of reservation {} for order {}: {}", reservation.getId(), orderId, reason);
+    }
+
+    private void recordSales(StockReservation reservation) {
+        for (ReservationItem item : reservation.getItems()) {
+            productSuggestionIndex.recordSales(item.getProductId(), item.getQuantity());
+        }
+    }
+
+    private StockReservationResponse mapToResponse(StockReservation reservation) {
+        return StockReservationResponse.builder()
+                .id(reservation.getId())
+                .status(reservation.getStatus())
+                .expiresAt(reservation.getExpiresAt())
+                .build();
+    }
+}
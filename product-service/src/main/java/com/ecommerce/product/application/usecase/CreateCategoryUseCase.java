@@ -2,6 +2,8 @@ package com.ecommerce.product.application.usecase;
 
 import com.ecommerce.product.application.dto.CategoryRequest;
 import com.ecommerce.product.application.dto.CategoryResponse;
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
+import com.ecommerce.product.application.service.ProductSuggestionIndex;
 import com.ecommerce.product.domain.model.Category;
 import com.ecommerce.product.domain.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +13,8 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CreateCategoryUseCase {
     private final CategoryRepository categoryRepository;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final CatalogSnapshotCache catalogSnapshotCache;
 
     public CategoryResponse execute(CategoryRequest request) {
         if (categoryRepository.existsByName(request.getName())) {
@@ -23,6 +27,8 @@ public class CreateCategoryUseCase {
                 .build();
 
         Category saved = categoryRepository.save(category);
+        productSuggestionIndex.indexCategory(saved);
+        catalogSnapshotCache.invalidateAfterCommit();
         return mapToResponse(saved);
     }
 
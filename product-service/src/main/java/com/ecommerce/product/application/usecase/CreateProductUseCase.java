@@ -3,6 +3,10 @@ package com.ecommerce.product.application.usecase;
 import com.ecommerce.product.application.dto.CategoryResponse;
 import com.ecommerce.product.application.dto.ProductRequest;
 import com.ecommerce.product.application.dto.ProductResponse;
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
+import com.ecommerce.product.application.service.ProductEventPublisher;
+import com.ecommerce.product.application.service.ProductSearchIndex;
+import com.ecommerce.product.application.service.ProductSuggestionIndex;
 import com.ecommerce.product.domain.model.Category;
 import com.ecommerce.product.domain.model.Product;
 import com.ecommerce.product.domain.model.ProductStatus;
@@ -12,11 +16,17 @@ import com.ecommerce.product.infrastructure.exception.CategoryNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class CreateProductUseCase {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ProductEventPublisher productEventPublisher;
 
     public ProductResponse execute(ProductRequest request) {
         Category category = categoryRepository.findById(request.getCategoryId())
@@ -33,6 +43,10 @@ public class CreateProductUseCase {
                 .build();
 
         Product saved = productRepository.save(product);
+        productSearchIndex.index(saved);
+        productSuggestionIndex.indexProduct(saved);
+        catalogSnapshotCache.invalidateAfterCommit();
+        productEventPublisher.publishAfterCommit(List.of(saved.getId()));
         return mapToResponse(saved);
     }
 
@@ -52,6 +66,7 @@ public class CreateProductUseCase {
                 .imageUrl(product.getImageUrl())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
                 .build();
     }
 }
@@ -1,5 +1,9 @@
 package com.ecommerce.product.application.usecase;
 
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
+import com.ecommerce.product.application.service.ProductEventPublisher;
+import com.ecommerce.product.application.service.ProductSearchIndex;
+import com.ecommerce.product.application.service.ProductSuggestionIndex;
 import com.ecommerce.product.domain.model.Product;
 import com.ecommerce.product.domain.model.ProductStatus;
 import com.ecommerce.product.domain.repository.ProductRepository;
@@ -7,12 +11,17 @@ import com.ecommerce.product.infrastructure.exception.ProductNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class DeleteProductUseCase {
     private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ProductEventPublisher productEventPublisher;
 
     public void execute(UUID id) {
         Product product = productRepository.findById(id)
@@ -21,5 +30,9 @@ public class DeleteProductUseCase {
         // Soft delete
         product.setStatus(ProductStatus.INACTIVE);
         productRepository.save(product);
+        productSearchIndex.remove(id);
+        productSuggestionIndex.removeProduct(id);
+        catalogSnapshotCache.invalidateAfterCommit();
+        productEventPublisher.publishAfterCommit(List.of(id));
     }
 }
@@ -0,0 +1,55 @@
+package com.ecommerce.product.application.usecase;
+
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
+import com.ecommerce.product.application.service.ProductEventPublisher;
+import com.ecommerce.product.application.service.ShardedStockService;
+import com.ecommerce.product.domain.model.ReservationItem;
+import com.ecommerce.product.domain.model.ReservationStatus;
+import com.ecommerce.product.domain.model.StockReservation;
+import com.ecommerce.product.domain.repository.ProductRepository;
+import com.ecommerce.product.domain.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ExpireReservationsUseCase {
+    private final ProductRepository productRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ProductEventPublisher productEventPublisher;
+    private final ShardedStockService shardedStockService;
+
+    // Vence un lote de reservas y devuelve su stock con un solo UPDATE por producto
+    @Transactional
+    public int execute(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> ids = stockReservationRepository.lockExpiredIds(now, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // Sumar las cantidades de todas las reservas del lote por producto
+        Map<UUID, Integer> quantities = new TreeMap<>();
+        for (StockReservation reservation : stockReservationRepository.findAllByIdWithItems(ids)) {
+            for (ReservationItem item : reservation.getItems()) {
+                quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+            }
+        }
+
+        quantities.forEach((productId, quantity) -> shardedStockService.restock(productId, quantity, now));
+        productRepository.reactivateRestocked(quantities.keySet());
+        catalogSnapshotCache.invalidateAfterCommit();
+        productEventPublisher.publishAfterCommit(quantities.keySet());
+        stockReservationRepository.updateStatus(ids, ReservationStatus.EXPIRED, now);
+
+        return ids.size();
+    }
+}
@@ -0,0 +1,144 @@
+package com.ecommerce.product.application.usecase;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+// Exporta el catálogo completo fila por fila desde un cursor del servidor: la memoria usada no
+// depende del tamaño del catálogo
+@Service
+@RequiredArgsConstructor
+public class ExportProductsUseCase {
+    private static final String EXPORT_SQL = "SELECT p.id, p.name, p.description, p.price, p.stock, " +
+            "p.category_id, c.name, p.status, p.image_url, p.created_at, p.updated_at " +
+            "FROM products p LEFT JOIN categories c ON c.id = p.category_id " +
+            "ORDER BY p.created_at, p.id";
+
+    private static final String CSV_HEADER =
+            "id,name,description,price,stock,categoryId,categoryName,status,imageUrl,createdAt,updatedAt";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${products.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public void execute(OutputStream output, boolean csv) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        if (csv) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        // PostgreSQL solo usa un cursor (fetch size) con autocommit apagado, es decir, dentro de
+        // una transacción; de solo lectura porque no se escribe nada
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, resultSet -> {
+                try {
+                    if (csv) {
+                        writeCsv(resultSet, writer);
+                    } else {
+                        writeJson(resultSet, generator, writer);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        generator.close();
+        writer.flush();
+    }
+
+    private void writeJson(ResultSet row, JsonGenerator generator, Writer writer) throws SQLException, IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", row.getString(1));
+        generator.writeStringField("name", row.getString(2));
+        generator.writeStringField("description", row.getString(3));
+        generator.writeFieldName("price");
+        generator.writeNumber(row.getBigDecimal(4));
+        generator.writeNumberField("stock", row.getInt(5));
+        generator.writeStringField("categoryId", row.getString(6));
+        generator.writeStringField("categoryName", row.getString(7));
+        generator.writeStringField("status", row.getString(8));
+        generator.writeStringField("imageUrl", row.getString(9));
+        generator.writeStringField("createdAt", toIsoString(row.getTimestamp(10)));
+        generator.writeStringField("updatedAt", toIsoString(row.getTimestamp(11)));
+        generator.writeEndObject();
+        generator.flush();
+        writer.write('\n');
+    }
+
+    private void writeCsv(ResultSet row, Writer writer) throws SQLException, IOException {
+        writer.write(row.getString(1));
+        writer.write(',');
+        writeCsvValue(writer, row.getString(2));
+        writer.write(',');
+        writeCsvValue(writer, row.getString(3));
+        writer.write(',');
+        writer.write(row.getBigDecimal(4).toPlainString());
+        writer.write(',');
+        writer.write(Integer.toString(row.getInt(5)));
+        writer.write(',');
+        writeCsvValue(writer, row.getString(6));
+        writer.write(',');
+        writeCsvValue(writer, row.getString(7));
+        writer.write(',');
+        writeCsvValue(writer, row.getString(8));
+        writer.write(',');
+        writeCsvValue(writer, row.getString(9));
+        writer.write(',');
+        writeCsvValue(writer, toIsoString(row.getTimestamp(10)));
+        writer.write(',');
+        writeCsvValue(writer, toIsoString(row.getTimestamp(11)));
+        writer.write('\n');
+    }
+
+    // Entre comillas solo si hace falta; las comillas internas se duplican
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private String toIsoString(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime().toString() : null;
+    }
+}
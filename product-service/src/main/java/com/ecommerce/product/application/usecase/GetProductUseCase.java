@@ -8,6 +8,7 @@ import com.ecommerce.product.infrastructure.exception.ProductNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Service
@@ -16,11 +17,16 @@ public class GetProductUseCase {
     private final ProductRepository productRepository;
 
     public ProductResponse execute(UUID id) {
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findWithCategoryById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found"));
         return mapToResponse(product);
     }
 
+    public LocalDateTime getVersion(UUID id) {
+        return productRepository.findVersionById(id)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found"));
+    }
+
     private ProductResponse mapToResponse(Product product) {
         return ProductResponse.builder()
                 .id(product.getId())
@@ -37,6 +43,7 @@ public class GetProductUseCase {
                 .imageUrl(product.getImageUrl())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
                 .build();
     }
 }
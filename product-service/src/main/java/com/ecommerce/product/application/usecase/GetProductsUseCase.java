@@ -0,0 +1,56 @@
+package com.ecommerce.product.application.usecase;
+
+import com.ecommerce.product.application.dto.CategoryResponse;
+import com.ecommerce.product.application.dto.ProductResponse;
+import com.ecommerce.product.domain.model.Product;
+import com.ecommerce.product.domain.repository.ProductRepository;
+import com.ecommerce.product.infrastructure.exception.InvalidProductBatchException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class GetProductsUseCase {
+    // Un carrito nunca se acerca a este límite; evita que una sola petición arme un IN enorme
+    public static final int MAX_IDS = 500;
+
+    private final ProductRepository productRepository;
+
+    // Los IDs que no existen simplemente no aparecen en la respuesta
+    public List<ProductResponse> execute(Collection<UUID> ids) {
+        Set<UUID> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > MAX_IDS) {
+            throw new InvalidProductBatchException("At most " + MAX_IDS + " product IDs can be requested at once");
+        }
+        return productRepository.findAllWithCategoryByIdIn(uniqueIds).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    private ProductResponse mapToResponse(Product product) {
+        return ProductResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stock(product.getStock())
+                .category(CategoryResponse.builder()
+                        .id(product.getCategory().getId())
+                        .name(product.getCategory().getName())
+                        .description(product.getCategory().getDescription())
+                        .build())
+                .status(product.getStatus())
+                .imageUrl(product.getImageUrl())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
+                .build();
+    }
+}
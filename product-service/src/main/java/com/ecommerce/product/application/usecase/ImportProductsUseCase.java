@@ -0,0 +1,253 @@
+package com.ecommerce.product.application.usecase;
+
+import com.ecommerce.product.application.dto.ProductImportError;
+import com.ecommerce.product.application.dto.ProductImportResult;
+import com.ecommerce.product.application.dto.ProductImportRow;
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
+import com.ecommerce.product.application.service.ProductEventPublisher;
+import com.ecommerce.product.application.service.ProductSearchIndex;
+import com.ecommerce.product.application.service.ProductSuggestionIndex;
+import com.ecommerce.product.domain.model.Category;
+import com.ecommerce.product.domain.model.ProductStatus;
+import com.ecommerce.product.domain.repository.CategoryRepository;
+import com.ecommerce.product.infrastructure.persistence.UuidV7Generator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Importación masiva: lee el cuerpo línea por línea y lo inserta en lotes JDBC, cada lote en su
+// propia transacción. Las filas inválidas se informan con su número de línea y no frenan el resto
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportProductsUseCase {
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO products " +
+            "(id, name, description, price, stock, category_id, status, image_url, created_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ProductEventPublisher productEventPublisher;
+
+    @Value("${products.import.batch-size:1000}")
+    private int batchSize;
+
+    public ProductImportResult execute(InputStream input, boolean csv) {
+        // Las categorías se resuelven en memoria en lugar de una consulta por fila
+        List<Category> categories = categoryRepository.findAll();
+        Map<UUID, Category> categoriesById = categories.stream()
+                .collect(Collectors.toMap(Category::getId, category -> category));
+        // Los nombres son únicos en la base, pero no necesariamente al pasarlos a minúsculas
+        Map<String, Category> categoriesByName = categories.stream()
+                .collect(Collectors.toMap(category -> category.getName().toLowerCase(), category -> category,
+                        (first, second) -> first));
+
+        ProductImportResult result = new ProductImportResult();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = null;
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+
+                try {
+                    ProductImportRow row = csv
+                            ? toRow(header, parseCsvLine(line))
+                            : objectMapper.readValue(line, ProductImportRow.class);
+                    batch.add(new PendingRow(lineNumber, UuidV7Generator.generate(),
+                            validate(row, categoriesById, categoriesByName), row));
+                } catch (JsonProcessingException e) {
+                    addError(result, lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                } catch (IllegalArgumentException e) {
+                    addError(result, lineNumber, e.getMessage());
+                }
+
+                if (batch.size() >= batchSize) {
+                    flush(batch, result);
+                }
+            }
+            flush(batch, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (result.getImported() > 0) {
+            productSearchIndex.rebuild();
+            productSuggestionIndex.rebuild();
+            catalogSnapshotCache.invalidate();
+        }
+        log.info("Product import finished: {} imported, {} failed", result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private UUID validate(ProductImportRow row, Map<UUID, Category> categoriesById,
+            Map<String, Category> categoriesByName) {
+        Set<ConstraintViolation<ProductImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+
+        Category category = row.getCategoryId() != null
+                ? categoriesById.get(row.getCategoryId())
+                : row.getCategoryName() != null ? categoriesByName.get(row.getCategoryName().toLowerCase()) : null;
+        if (category == null) {
+            throw new IllegalArgumentException("Category not found");
+        }
+        return category.getId();
+    }
+
+    private void flush(List<PendingRow> batch, ProductImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Cada lote lleva la hora de su propio commit: así la versión del catálogo avanza con
+        // cada lote visible y los clientes no reciben un 304 con datos de antes del lote
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> args = batch.stream()
+                .map(pending -> new Object[]{
+                        pending.id(),
+                        pending.row().getName(),
+                        pending.row().getDescription(),
+                        pending.row().getPrice(),
+                        pending.row().getStock(),
+                        pending.categoryId(),
+                        ProductStatus.ACTIVE.name(),
+                        pending.row().getImageUrl(),
+                        now})
+                .collect(Collectors.toList());
+
+        try {
+            List<UUID> ids = batch.stream()
+                    .map(PendingRow::id)
+                    .collect(Collectors.toList());
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, args);
+                productEventPublisher.publishAfterCommit(ids);
+            });
+            result.setImported(result.getImported() + batch.size());
+        } catch (DataAccessException e) {
+            // Un lote que falla en la base se informa completo; los demás lotes siguen
+            String message = "Batch insert failed: " + e.getMostSpecificCause().getMessage();
+            batch.forEach(pending -> addError(result, pending.line(), message));
+        }
+        batch.clear();
+    }
+
+    private void addError(ProductImportResult result, int line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ProductImportError(line, message));
+        }
+    }
+
+    private Map<String, Integer> parseHeader(String line) {
+        Map<String, Integer> header = new HashMap<>();
+        List<String> columns = parseCsvLine(line);
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim(), i);
+        }
+        return header;
+    }
+
+    private ProductImportRow toRow(Map<String, Integer> header, List<String> values) {
+        ProductImportRow row = new ProductImportRow();
+        row.setName(column(header, values, "name"));
+        row.setDescription(column(header, values, "description"));
+        String price = column(header, values, "price");
+        row.setPrice(price != null ? new BigDecimal(price) : null);
+        String stock = column(header, values, "stock");
+        row.setStock(stock != null ? Integer.valueOf(stock) : null);
+        String categoryId = column(header, values, "categoryId");
+        row.setCategoryId(categoryId != null ? UUID.fromString(categoryId) : null);
+        row.setCategoryName(column(header, values, "categoryName"));
+        row.setImageUrl(column(header, values, "imageUrl"));
+        return row;
+    }
+
+    private String column(Map<String, Integer> header, List<String> values, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // CSV de una línea por registro: comas, comillas dobles y "" como comilla escapada
+    private List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private record PendingRow(int line, UUID id, UUID categoryId, ProductImportRow row) {
+    }
+}
@@ -1,40 +1,124 @@
 package com.ecommerce.product.application.usecase;
 
 import com.ecommerce.product.application.dto.CategoryResponse;
+import com.ecommerce.product.application.dto.ProductFilter;
+import com.ecommerce.product.application.dto.ProductPage;
 import com.ecommerce.product.application.dto.ProductResponse;
 import com.ecommerce.product.domain.model.Product;
 import com.ecommerce.product.domain.model.ProductStatus;
 import com.ecommerce.product.domain.repository.ProductRepository;
+import com.ecommerce.product.domain.repository.ProductSpecifications;
+import com.ecommerce.product.infrastructure.exception.InvalidCursorException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ListProductsUseCase {
-    private final ProductRepository productRepository;
+    public static final int MAX_LIMIT = 100;
 
-    public List<ProductResponse> execute(String status, UUID categoryId, String search) {
-        List<Product> products;
+    private static final Sort KEYSET_SORT = Sort.by("createdAt", "id");
 
-        if (status != null && !status.isEmpty()) {
-            products = productRepository.findByStatus(ProductStatus.valueOf(status));
-        } else if (categoryId != null) {
-            products = productRepository.findByCategoryId(categoryId);
-        } else if (search != null && !search.isEmpty()) {
-            products = productRepository.findByNameContainingIgnoreCase(search);
-        } else {
-            products = productRepository.findAll();
-        }
+    private final ProductRepository productRepository;
+
+    @Value("${catalog.version.settle-ms:2000}")
+    private long settleMillis;
 
-        return products.stream()
+    public List<ProductResponse> execute(ProductFilter filter) {
+        return productRepository.findAll(toSpecification(filter), KEYSET_SORT).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    // Paginación por cursor: cada página cuesta lo mismo sin importar su posición
+    public ProductPage execute(ProductFilter filter, int limit, String after) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        Specification<Product> spec = toSpecification(filter);
+        if (after != null && !after.isEmpty()) {
+            spec = spec.and(decodeCursor(after));
+        }
+
+        // Se pide un elemento extra solo para saber si existe una página siguiente
+        List<Product> products = productRepository.findBy(spec,
+                query -> query.sortBy(KEYSET_SORT).limit(pageSize + 1).all());
+
+        boolean hasMore = products.size() > pageSize;
+        if (hasMore) {
+            products = products.subList(0, pageSize);
+        }
+
+        return ProductPage.builder()
+                .items(products.stream()
+                        .map(this::mapToResponse)
+                        .collect(Collectors.toList()))
+                .nextCursor(hasMore ? encodeCursor(products.get(products.size() - 1)) : null)
+                .build();
+    }
+
+    // La versión del catálogo es la última escritura de cualquier producto. Una transacción que
+    // todavía no confirmó puede traer una marca anterior a la vigente, así que una versión
+    // demasiado reciente no se usa para validar cachés
+    public Optional<LocalDateTime> getCatalogVersion() {
+        LocalDateTime version = productRepository.findCatalogVersion();
+        if (version == null || version.isAfter(LocalDateTime.now().minusNanos(settleMillis * 1_000_000))) {
+            return Optional.empty();
+        }
+        return Optional.of(version);
+    }
+
+    // Todos los filtros se combinan en una sola consulta; los que vienen vacíos se ignoran
+    private Specification<Product> toSpecification(ProductFilter filter) {
+        Specification<Product> spec = Specification.where(ProductSpecifications.fetchCategory());
+
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            spec = spec.and(ProductSpecifications.hasStatus(ProductStatus.valueOf(filter.getStatus())));
+        }
+        if (filter.getCategoryId() != null) {
+            spec = spec.and(ProductSpecifications.inCategory(filter.getCategoryId()));
+        }
+        if (filter.getSearch() != null && !filter.getSearch().isEmpty()) {
+            spec = spec.and(ProductSpecifications.nameContains(filter.getSearch()));
+        }
+        if (filter.getMinPrice() != null) {
+            spec = spec.and(ProductSpecifications.priceAtLeast(filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            spec = spec.and(ProductSpecifications.priceAtMost(filter.getMaxPrice()));
+        }
+        if (Boolean.TRUE.equals(filter.getInStock())) {
+            spec = spec.and(ProductSpecifications.inStock());
+        }
+
+        return spec;
+    }
+
+    private String encodeCursor(Product product) {
+        String raw = product.getCreatedAt() + "|" + product.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Specification<Product> decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            return ProductSpecifications.after(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
     private ProductResponse mapToResponse(Product product) {
         return ProductResponse.builder()
                 .id(product.getId())
@@ -51,6 +135,7 @@ public class ListProductsUseCase {
                 .imageUrl(product.getImageUrl())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,62 @@
+package com.ecommerce.product.application.usecase;
+
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
+import com.ecommerce.product.application.service.ProductEventPublisher;
+import com.ecommerce.product.application.service.ShardedStockService;
+import com.ecommerce.product.domain.model.StockShard;
+import com.ecommerce.product.domain.repository.ProductRepository;
+import com.ecommerce.product.domain.repository.StockShardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+// Empareja los contadores de cada producto fragmentado y copia su suma a products.stock
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RebalanceStockShardsUseCase {
+    private final ProductRepository productRepository;
+    private final StockShardRepository stockShardRepository;
+    private final ShardedStockService shardedStockService;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ProductEventPublisher productEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public void execute() {
+        for (UUID productId : productRepository.findShardedIds()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebalance(productId));
+            } catch (RuntimeException e) {
+                log.error("Error rebalancing stock shards of product {}: {}", productId, e.getMessage());
+            }
+        }
+    }
+
+    private void rebalance(UUID productId) {
+        List<Integer> stocks = stockShardRepository.findStocksByProductId(productId);
+        if (stocks.isEmpty()) {
+            return;
+        }
+
+        int total = stocks.stream().mapToInt(Integer::intValue).sum();
+        // Solo se bloquean los contadores cuando alguno quedó muy por debajo del promedio,
+        // porque entonces las compras empiezan a caer en el camino lento
+        int average = total / stocks.size();
+        if (Collections.min(stocks) * 2 < average) {
+            List<StockShard> shards = stockShardRepository.lockByProductId(productId);
+            total = shardedStockService.total(shards);
+            shardedStockService.distribute(shards, total);
+        }
+
+        if (shardedStockService.syncProduct(productId, total, LocalDateTime.now())) {
+            catalogSnapshotCache.invalidateAfterCommit();
+            productEventPublisher.publishAfterCommit(List.of(productId));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.product.application.usecase;
+
+import com.ecommerce.product.application.dto.StockReservationResponse;
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
+import com.ecommerce.product.application.service.ProductEventPublisher;
+import com.ecommerce.product.application.service.ShardedStockService;
+import com.ecommerce.product.domain.model.ReservationItem;
+import com.ecommerce.product.domain.model.ReservationStatus;
+import com.ecommerce.product.domain.model.StockReservation;
+import com.ecommerce.product.domain.repository.ProductRepository;
+import com.ecommerce.product.domain.repository.StockReservationRepository;
+import com.ecommerce.product.infrastructure.exception.ReservationNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ReleaseReservationUseCase {
+    private final ProductRepository productRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ProductEventPublisher productEventPublisher;
+    private final ShardedStockService shardedStockService;
+
+    @Transactional
+    public StockReservationResponse execute(UUID reservationId) {
+        LocalDateTime now = LocalDateTime.now();
+        int released = stockReservationRepository.transition(reservationId,
+                List.of(ReservationStatus.RESERVED, ReservationStatus.CONFIRMED),
+                ReservationStatus.RELEASED, now);
+        if (released == 0) {
+            // Una reserva vencida ya devolvió su stock, pero también pasa a RELEASED: así una
+            // confirmación que llegue tarde no la recupera para una orden ya cancelada
+            stockReservationRepository.transition(reservationId, List.of(ReservationStatus.EXPIRED),
+                    ReservationStatus.RELEASED, now);
+        }
+
+        StockReservation reservation = stockReservationRepository.findByIdWithItems(reservationId)
+                .orElseThrow(() -> new ReservationNotFoundException("Reservation not found"));
+
+        // Si otra llamada o el barrido de vencidas ya la liberó, no se devuelve stock dos veces
+        if (released > 0) {
+            List<ReservationItem> items = reservation.getItems().stream()
+                    .sorted(Comparator.comparing(ReservationItem::getProductId))
+                    .collect(Collectors.toList());
+
+            for (ReservationItem item : items) {
+                shardedStockService.restock(item.getProductId(), item.getQuantity(), now);
+            }
+            List<UUID> productIds = items.stream()
+                    .map(ReservationItem::getProductId)
+                    .collect(Collectors.toList());
+            productRepository.reactivateRestocked(productIds);
+            catalogSnapshotCache.invalidateAfterCommit();
+            productEventPublisher.publishAfterCommit(productIds);
+        }
+
+        return mapToResponse(reservation);
+    }
+
+    private StockReservationResponse mapToResponse(StockReservation reservation) {
+        return StockReservationResponse.builder()
+                .id(reservation.getId())
+                .status(reservation.getStatus())
+                .expiresAt(reservation.getExpiresAt())
+                .build();
+    }
+}
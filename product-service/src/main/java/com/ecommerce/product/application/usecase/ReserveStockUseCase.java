@@ -0,0 +1,74 @@
+package com.ecommerce.product.application.usecase;
+
+import com.ecommerce.product.application.dto.StockItemRequest;
+import com.ecommerce.product.application.dto.StockReservationRequest;
+import com.ecommerce.product.application.dto.StockReservationResponse;
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
+import com.ecommerce.product.application.service.ProductEventPublisher;
+import com.ecommerce.product.application.service.ShardedStockService;
+import com.ecommerce.product.domain.model.ReservationItem;
+import com.ecommerce.product.domain.model.ReservationStatus;
+import com.ecommerce.product.domain.model.StockReservation;
+import com.ecommerce.product.domain.repository.StockReservationRepository;
+import com.ecommerce.product.infrastructure.exception.InsufficientStockException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ReserveStockUseCase {
+    private final StockReservationRepository stockReservationRepository;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ProductEventPublisher productEventPublisher;
+    private final ShardedStockService shardedStockService;
+
+    @Value("${reservations.ttl-minutes:15}")
+    private long ttlMinutes;
+
+    @Transactional
+    public StockReservationResponse execute(StockReservationRequest request) {
+        // Agrupar cantidades por producto y ordenar por ID para que reservas
+        // concurrentes bloqueen las filas siempre en el mismo orden
+        Map<UUID, Integer> quantities = new TreeMap<>();
+        for (StockItemRequest item : request.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<UUID, Integer> entry : quantities.entrySet()) {
+            // Si alguna fila no se actualiza, la excepción revierte toda la reserva
+            if (!shardedStockService.reserve(entry.getKey(), entry.getValue(), now)) {
+                throw new InsufficientStockException("Insufficient stock for product: " + entry.getKey());
+            }
+        }
+
+        shardedStockService.markOutOfStock(quantities.keySet(), now);
+        catalogSnapshotCache.invalidateAfterCommit();
+        productEventPublisher.publishAfterCommit(quantities.keySet());
+
+        StockReservation reservation = StockReservation.builder()
+                .status(ReservationStatus.RESERVED)
+                .expiresAt(now.plusMinutes(ttlMinutes))
+                .build();
+        quantities.forEach((productId, quantity) ->
+                reservation.getItems().add(new ReservationItem(productId, quantity)));
+
+        StockReservation saved = stockReservationRepository.save(reservation);
+        return mapToResponse(saved);
+    }
+
+    private StockReservationResponse mapToResponse(StockReservation reservation) {
+        return StockReservationResponse.builder()
+                .id(reservation.getId())
+                .status(reservation.getStatus())
+                .expiresAt(reservation.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.product.application.usecase;
+
+import com.ecommerce.product.application.dto.ProductSearchResult;
+import com.ecommerce.product.application.service.ProductSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SearchProductsUseCase {
+    private final ProductSearchIndex productSearchIndex;
+
+    public List<ProductSearchResult> execute(String query, int limit) {
+        int size = Math.max(1, Math.min(limit, ListProductsUseCase.MAX_LIMIT));
+        return productSearchIndex.search(query, size);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.product.application.usecase;
+
+import com.ecommerce.product.application.dto.ProductSuggestion;
+import com.ecommerce.product.application.service.ProductSuggestionIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SuggestProductsUseCase {
+    private final ProductSuggestionIndex productSuggestionIndex;
+
+    public List<ProductSuggestion> execute(String prefix, int limit) {
+        return productSuggestionIndex.suggest(prefix, Math.max(1, limit));
+    }
+}
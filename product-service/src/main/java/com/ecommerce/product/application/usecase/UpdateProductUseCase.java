@@ -3,6 +3,11 @@ package com.ecommerce.product.application.usecase;
 import com.ecommerce.product.application.dto.CategoryResponse;
 import com.ecommerce.product.application.dto.ProductRequest;
 import com.ecommerce.product.application.dto.ProductResponse;
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
+import com.ecommerce.product.application.service.ProductEventPublisher;
+import com.ecommerce.product.application.service.ProductSearchIndex;
+import com.ecommerce.product.application.service.ProductSuggestionIndex;
+import com.ecommerce.product.application.service.ShardedStockService;
 import com.ecommerce.product.domain.model.Category;
 import com.ecommerce.product.domain.model.Product;
 import com.ecommerce.product.domain.repository.CategoryRepository;
@@ -11,7 +16,10 @@ import com.ecommerce.product.infrastructure.exception.CategoryNotFoundException;
 import com.ecommerce.product.infrastructure.exception.ProductNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -19,7 +27,15 @@ import java.util.UUID;
 public class UpdateProductUseCase {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ProductEventPublisher productEventPublisher;
+    private final ShardedStockService shardedStockService;
 
+    // El save y el reparto entre contadores confirman juntos: nunca queda la fila del producto
+    // con el total nuevo y los contadores con el viejo
+    @Transactional
     public ProductResponse execute(UUID id, ProductRequest request) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found"));
@@ -35,6 +51,14 @@ public class UpdateProductUseCase {
         product.setImageUrl(request.getImageUrl());
 
         Product updated = productRepository.save(product);
+        // Con stock fragmentado el nuevo total se reparte entre los contadores
+        if (updated.getStockShards() != null) {
+            shardedStockService.redistribute(updated.getId(), request.getStock(), LocalDateTime.now());
+        }
+        productSearchIndex.index(updated);
+        productSuggestionIndex.indexProduct(updated);
+        catalogSnapshotCache.invalidateAfterCommit();
+        productEventPublisher.publishAfterCommit(List.of(updated.getId()));
         return mapToResponse(updated);
     }
 
@@ -54,6 +78,7 @@ public class UpdateProductUseCase {
                 .imageUrl(product.getImageUrl())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
                 .build();
     }
 }
@@ -2,23 +2,72 @@ package com.ecommerce.product.application.usecase;
 
 import com.ecommerce.product.application.dto.CategoryResponse;
 import com.ecommerce.product.application.dto.ProductResponse;
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
+import com.ecommerce.product.application.service.ProductEventPublisher;
+import com.ecommerce.product.application.service.ShardedStockService;
+import com.ecommerce.product.application.service.StockAdjustmentCoalescer;
 import com.ecommerce.product.domain.model.Product;
 import com.ecommerce.product.domain.model.ProductStatus;
 import com.ecommerce.product.domain.repository.ProductRepository;
 import com.ecommerce.product.infrastructure.exception.InsufficientStockException;
 import com.ecommerce.product.infrastructure.exception.ProductNotFoundException;
+import com.ecommerce.product.infrastructure.exception.StockConflictException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
 public class UpdateStockUseCase {
     private final ProductRepository productRepository;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ProductEventPublisher productEventPublisher;
+    private final StockAdjustmentCoalescer stockAdjustmentCoalescer;
+    private final ShardedStockService shardedStockService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${stock.optimistic.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${stock.optimistic.backoff-ms:10}")
+    private long backoffMillis;
+
+    @Value("${stock.coalescing.wait-timeout-ms:2000}")
+    private long coalescingWaitTimeoutMs;
 
     public ProductResponse execute(UUID productId, Integer quantity, boolean isAddition) {
-        Product product = productRepository.findById(productId)
+        if (shardedStockService.isSharded(productId)) {
+            return executeSharded(productId, isAddition ? quantity : -quantity);
+        }
+        if (stockAdjustmentCoalescer.isEnabled()) {
+            return executeCoalesced(productId, isAddition ? quantity : -quantity);
+        }
+
+        // Si otra escritura cambió el producto entre la lectura y el save, se vuelve a leer y a
+        // calcular sobre el stock actual, con espera exponencial y un número acotado de intentos
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return applyStockChange(productId, quantity, isAddition);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("product.stock.conflicts", "outcome", "exhausted").increment();
+                    throw new StockConflictException("Stock was modified concurrently, please retry");
+                }
+                meterRegistry.counter("product.stock.conflicts", "outcome", "retried").increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    private ProductResponse applyStockChange(UUID productId, Integer quantity, boolean isAddition) {
+        Product product = productRepository.findWithCategoryById(productId)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found"));
 
         int newStock = isAddition ? product.getStock() + quantity : product.getStock() - quantity;
@@ -37,9 +86,41 @@ public class UpdateStockUseCase {
         }
 
         Product updated = productRepository.save(product);
+        catalogSnapshotCache.invalidateAfterCommit();
+        productEventPublisher.publishAfterCommit(List.of(productId));
         return mapToResponse(updated);
     }
 
+    private void backoff(int attempt) {
+        long delay = backoffMillis << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(delay / 2, delay + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StockConflictException("Interrupted while retrying stock update");
+        }
+    }
+
+    private ProductResponse executeSharded(UUID productId, int delta) {
+        shardedStockService.adjust(productId, delta, LocalDateTime.now());
+        catalogSnapshotCache.invalidateAfterCommit();
+        productEventPublisher.publishAfterCommit(List.of(productId));
+
+        Product product = productRepository.findWithCategoryById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found"));
+        return mapToResponse(product);
+    }
+
+    // Productos con mucha concurrencia: el ajuste se suma al de otras peticiones y se espera a
+    // que el lote confirme antes de responder, con un límite para no dejar el hilo colgado
+    private ProductResponse executeCoalesced(UUID productId, int delta) {
+        stockAdjustmentCoalescer.adjust(productId, delta, coalescingWaitTimeoutMs);
+
+        Product product = productRepository.findWithCategoryById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found"));
+        return mapToResponse(product);
+    }
+
     private ProductResponse mapToResponse(Product product) {
         return ProductResponse.builder()
                 .id(product.getId())
@@ -56,6 +137,7 @@ public class UpdateStockUseCase {
                 .imageUrl(product.getImageUrl())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
                 .build();
     }
 }
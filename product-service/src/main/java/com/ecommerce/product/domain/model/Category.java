@@ -1,5 +1,6 @@
 package com.ecommerce.product.domain.model;
 
+import com.ecommerce.product.infrastructure.persistence.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,8 +19,8 @@ import java.util.UUID;
 @Builder
 public class Category {
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedValue(generator = "UUIDv7")
+    @GenericGenerator(name = "UUIDv7", type = UuidV7Generator.class)
     private UUID id;
 
     @Column(nullable = false, unique = true)
@@ -1,10 +1,12 @@
 package com.ecommerce.product.domain.model;
 
+import com.ecommerce.product.infrastructure.persistence.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.GenericGenerator;
 
 import java.math.BigDecimal;
@@ -12,15 +14,21 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_products_status_created_at_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_products_category_created_at_id", columnList = "category_id, created_at, id"),
+        @Index(name = "idx_products_category_price", columnList = "category_id, price"),
+        @Index(name = "idx_products_updated_at", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Product {
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedValue(generator = "UUIDv7")
+    @GenericGenerator(name = "UUIDv7", type = UuidV7Generator.class)
     private UUID id;
 
     @Column(nullable = false)
@@ -45,11 +53,20 @@ public class Product {
 
     private String imageUrl;
 
+    // Cantidad de contadores en product_stock_shards; null si el stock vive en esta fila
+    private Integer stockShards;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
 
+    // Control optimista: un save con una versión vieja falla en lugar de pisar otra escritura
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
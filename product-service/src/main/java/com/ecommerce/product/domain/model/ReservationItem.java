@@ -0,0 +1,21 @@
+package com.ecommerce.product.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationItem {
+    @Column(nullable = false)
+    private UUID productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+}
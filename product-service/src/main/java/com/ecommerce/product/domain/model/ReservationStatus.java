@@ -0,0 +1,8 @@
+package com.ecommerce.product.domain.model;
+
+public enum ReservationStatus {
+    RESERVED,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
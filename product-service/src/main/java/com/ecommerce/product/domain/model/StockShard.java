@@ -0,0 +1,36 @@
+package com.ecommerce.product.domain.model;
+
+import com.ecommerce.product.infrastructure.persistence.UuidV7Generator;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.util.UUID;
+
+// Porción del stock de un producto fragmentado; el stock total es la suma de sus porciones
+@Entity
+@Table(name = "product_stock_shards", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_product_stock_shards_product_shard", columnNames = {"product_id", "shard"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockShard {
+    @Id
+    @GeneratedValue(generator = "UUIDv7")
+    @GenericGenerator(name = "UUIDv7", type = UuidV7Generator.class)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID productId;
+
+    @Column(nullable = false)
+    private Integer shard;
+
+    @Column(nullable = false)
+    private Integer stock;
+}
@@ -2,15 +2,50 @@ package com.ecommerce.product.domain.repository;
 
 import com.ecommerce.product.domain.model.Product;
 import com.ecommerce.product.domain.model.ProductStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product> {
+    @EntityGraph(attributePaths = "category")
+    Optional<Product> findWithCategoryById(UUID id);
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.id IN :ids")
+    List<Product> findAllWithCategoryByIdIn(Collection<UUID> ids);
+
+    // Versiones baratas para peticiones condicionales: no cargan la entidad ni su categoría
+    @Query("SELECT COALESCE(p.updatedAt, p.createdAt) FROM Product p WHERE p.id = :id")
+    Optional<LocalDateTime> findVersionById(UUID id);
+
+    @Query("SELECT GREATEST(MAX(p.createdAt), MAX(p.updatedAt)) FROM Product p")
+    LocalDateTime findCatalogVersion();
+
+    // Estado que se publica en los eventos de cambio; consulta escalar para leer lo ya escrito
+    @Query("SELECT p.id, p.price, p.stock, p.status, p.version " +
+            "FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findChangeStateByIdIn(Collection<UUID> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findForUpdateById(UUID id);
+
+    @Query("SELECT p.id FROM Product p WHERE p.stockShards IS NOT NULL")
+    List<UUID> findShardedIds();
+
+    boolean existsByIdAndStockShardsIsNotNull(UUID id);
+
     List<Product> findByStatus(ProductStatus status);
 
     List<Product> findByCategoryId(UUID categoryId);
@@ -19,4 +54,38 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
 
     @Query("SELECT p FROM Product p WHERE p.stock > 0 AND p.status = 'ACTIVE'")
     List<Product> findAvailableProducts();
+
+    // Las escrituras masivas también suben la versión para que un save concurrente lo detecte.
+    // Solo tocan productos no fragmentados; los fragmentados van por StockShardRepository
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity, p.updatedAt = :now, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.stock >= :quantity AND p.stockShards IS NULL")
+    int decrementStock(UUID id, int quantity, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :quantity, p.updatedAt = :now, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.stockShards IS NULL")
+    int incrementStock(UUID id, int quantity, LocalDateTime now);
+
+    // Ajuste neto, positivo o negativo, que nunca deja el stock por debajo de cero
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :delta, p.updatedAt = :now, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.stock + :delta >= 0 AND p.stockShards IS NULL")
+    int adjustStock(UUID id, int delta, LocalDateTime now);
+
+    // Copia en la fila del producto la suma de sus contadores, solo si cambió
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = :stock, p.updatedAt = :now, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.stock <> :stock")
+    int syncStock(UUID id, int stock, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.status = 'OUT_OF_STOCK', p.version = p.version + 1 " +
+            "WHERE p.id IN :ids AND p.stock = 0")
+    int markOutOfStock(Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.status = 'ACTIVE', p.version = p.version + 1 " +
+            "WHERE p.id IN :ids AND p.status = 'OUT_OF_STOCK' AND p.stock > 0")
+    int reactivateRestocked(Collection<UUID> ids);
 }
@@ -0,0 +1,69 @@
+package com.ecommerce.product.domain.repository;
+
+import com.ecommerce.product.domain.model.Product;
+import com.ecommerce.product.domain.model.ProductStatus;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public final class ProductSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ProductSpecifications() {
+    }
+
+    // Carga la categoría en la misma consulta (evita un SELECT extra por producto)
+    public static Specification<Product> fetchCategory() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("category", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Product> hasStatus(ProductStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Product> inCategory(UUID categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    // El texto del usuario se busca literal: sus '%' y '_' no actúan como comodines
+    public static Specification<Product> nameContains(String search) {
+        String pattern = "%" + escapeLike(search.toLowerCase()) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE);
+    }
+
+    public static Specification<Product> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Product> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Product> inStock() {
+        return (root, query, cb) -> cb.greaterThan(root.get("stock"), 0);
+    }
+
+    // Keyset: productos estrictamente posteriores a (createdAt, id) en el orden (createdAt, id)
+    public static Specification<Product> after(LocalDateTime createdAt, UUID id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("createdAt"), createdAt),
+                cb.and(
+                        cb.equal(root.get("createdAt"), createdAt),
+                        cb.greaterThan(root.get("id"), id)));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.product.domain.repository;
+
+import com.ecommerce.product.domain.model.ReservationStatus;
+import com.ecommerce.product.domain.model.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+    @Query("SELECT r FROM StockReservation r JOIN FETCH r.items WHERE r.id = :id")
+    Optional<StockReservation> findByIdWithItems(UUID id);
+
+    @Query("SELECT DISTINCT r FROM StockReservation r JOIN FETCH r.items WHERE r.id IN :ids")
+    List<StockReservation> findAllByIdWithItems(Collection<UUID> ids);
+
+    // Bloquea un lote de reservas vencidas; SKIP LOCKED permite varias instancias barriendo a la vez
+    @Query(value = "SELECT id FROM stock_reservations " +
+            "WHERE status = 'RESERVED' AND expires_at < :now " +
+            "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> lockExpiredIds(LocalDateTime now, int limit);
+
+    // Solo quien gana la transición de estado devuelve el stock
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = :newStatus, r.updatedAt = :now " +
+            "WHERE r.id = :id AND r.status IN :currentStatuses")
+    int transition(UUID id, Collection<ReservationStatus> currentStatuses, ReservationStatus newStatus,
+            LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = :newStatus, r.updatedAt = :now WHERE r.id IN :ids")
+    int updateStatus(Collection<UUID> ids, ReservationStatus newStatus, LocalDateTime now);
+
+    // Unidades vendidas por producto, usadas como popularidad del autocompletado
+    @Query("SELECT i.productId, SUM(i.quantity) FROM StockReservation r JOIN r.items i " +
+            "WHERE r.status = 'CONFIRMED' GROUP BY i.productId")
+    List<Object[]> sumConfirmedQuantitiesByProduct();
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.product.domain.repository;
+
+import com.ecommerce.product.domain.model.StockShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface StockShardRepository extends JpaRepository<StockShard, UUID> {
+
+    // Un contador al azar que alcance y que nadie tenga tomado: las compras no se esperan entre sí
+    @Query(value = "SELECT id FROM product_stock_shards " +
+            "WHERE product_id = :productId AND stock >= :quantity " +
+            "ORDER BY random() LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<UUID> pickShardWithStock(UUID productId, int quantity);
+
+    @Query(value = "SELECT id FROM product_stock_shards WHERE product_id = :productId " +
+            "ORDER BY random() LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<UUID> pickUnlockedShard(UUID productId);
+
+    @Modifying
+    @Query("UPDATE StockShard s SET s.stock = s.stock + :delta WHERE s.id = :id")
+    int addToShard(UUID id, int delta);
+
+    @Modifying
+    @Query("UPDATE StockShard s SET s.stock = s.stock + :delta WHERE s.productId = :productId AND s.shard = 0")
+    int addToFirstShard(UUID productId, int delta);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM StockShard s WHERE s.productId = :productId ORDER BY s.shard")
+    List<StockShard> lockByProductId(UUID productId);
+
+    // Lectura sin bloqueo ni entidades, para decidir si hace falta rebalancear
+    @Query("SELECT s.stock FROM StockShard s WHERE s.productId = :productId")
+    List<Integer> findStocksByProductId(UUID productId);
+
+    @Modifying
+    @Query("DELETE FROM StockShard s WHERE s.productId = :productId")
+    int deleteByProductId(UUID productId);
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.product.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Value("${reservations.confirmations.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    // Una confirmación no puede perderse: se reintenta hasta que la base de datos la acepte
+    // en lugar de descartarla tras unos pocos intentos
+    @Bean
+    public CommonErrorHandler kafkaErrorHandler() {
+        return new DefaultErrorHandler(new FixedBackOff(retryBackoffMs, FixedBackOff.UNLIMITED_ATTEMPTS));
+    }
+}
@@ -25,16 +25,27 @@ public class SecurityConfig {
                                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
                                 .csrf(AbstractHttpConfigurer::disable)
                                 .authorizeHttpRequests(auth -> auth
+                                                // La exportación del catálogo completo no es pública
+                                                .requestMatchers(HttpMethod.GET, "/api/products/export")
+                                                .hasAnyRole("USER", "ADMIN")
+
                                                 // Endpoints públicos (solo lectura)
                                                 .requestMatchers(HttpMethod.GET, "/api/products/**").permitAll()
                                                 .requestMatchers(HttpMethod.GET, "/api/categories/**").permitAll()
 
-                                                // Endpoints protegidos (crear/editar/eliminar)
-                                                .requestMatchers(HttpMethod.POST, "/api/products/**").authenticated()
-                                                .requestMatchers(HttpMethod.PUT, "/api/products/**").authenticated()
-                                                .requestMatchers(HttpMethod.PATCH, "/api/products/**").authenticated()
-                                                .requestMatchers(HttpMethod.DELETE, "/api/products/**").authenticated()
-                                                .requestMatchers(HttpMethod.POST, "/api/categories/**").authenticated()
+                                                // Consulta por lote y reservas: usuarios y los tokens de servicio
+                                                // de order-service
+                                                .requestMatchers(HttpMethod.POST, "/api/products/batch")
+                                                .hasAnyRole("USER", "ADMIN", "SERVICE")
+                                                .requestMatchers("/api/reservations/**")
+                                                .hasAnyRole("USER", "ADMIN", "SERVICE")
+
+                                                // Endpoints protegidos (crear/editar/eliminar), nunca con token de servicio
+                                                .requestMatchers(HttpMethod.POST, "/api/products/**").hasAnyRole("USER", "ADMIN")
+                                                .requestMatchers(HttpMethod.PUT, "/api/products/**").hasAnyRole("USER", "ADMIN")
+                                                .requestMatchers(HttpMethod.PATCH, "/api/products/**").hasAnyRole("USER", "ADMIN")
+                                                .requestMatchers(HttpMethod.DELETE, "/api/products/**").hasAnyRole("USER", "ADMIN")
+                                                .requestMatchers(HttpMethod.POST, "/api/categories/**").hasAnyRole("USER", "ADMIN")
 
                                                 .anyRequest().authenticated())
                                 .sessionManagement(session -> session
@@ -1,14 +1,69 @@
 package com.ecommerce.product.infrastructure.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
 
+    @Value("${auth-client.pool.max-connections:20}")
+    private int maxConnections;
+
+    // Peticiones que pueden esperar una conexión libre; más allá se rechazan en vez de acumularse
+    @Value("${auth-client.pool.pending-acquire-max-count:100}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${auth-client.pool.pending-acquire-timeout-ms:2000}")
+    private long pendingAcquireTimeoutMs;
+
+    // Por debajo del keep-alive del servidor, para no reutilizar conexiones que este ya cerró
+    @Value("${auth-client.pool.max-idle-time-ms:30000}")
+    private long maxIdleTimeMs;
+
+    @Value("${auth-client.pool.max-life-time-ms:300000}")
+    private long maxLifeTimeMs;
+
+    @Value("${auth-client.pool.evict-interval-ms:30000}")
+    private long evictIntervalMs;
+
+    @Value("${auth-client.pool.h2c:false}")
+    private boolean h2c;
+
+    // Pool propio para auth-service; con metrics(true) publica reactor.netty.connection.provider.*
+    // (conexiones activas, ociosas y pendientes) con tag name=auth-service
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider authServiceConnectionProvider() {
+        return ConnectionProvider.builder("auth-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+                .evictInBackground(Duration.ofMillis(evictIntervalMs))
+                .lifo()
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient webClient(WebClient.Builder builder) {
-        return builder.build();
+    public WebClient authServiceWebClient(WebClient.Builder builder,
+                                          ConnectionProvider authServiceConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(authServiceConnectionProvider);
+
+        if (h2c) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
 }
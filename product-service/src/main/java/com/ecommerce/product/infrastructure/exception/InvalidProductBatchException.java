@@ -0,0 +1,7 @@
+package com.ecommerce.product.infrastructure.exception;
+
+public class InvalidProductBatchException extends RuntimeException {
+    public InvalidProductBatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.product.infrastructure.exception;
+
+public class InvalidReservationStateException extends RuntimeException {
+    public InvalidReservationStateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.product.infrastructure.exception;
+
+public class InvalidStockShardsException extends RuntimeException {
+    public InvalidStockShardsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.product.infrastructure.exception;
+
+public class ReservationNotFoundException extends RuntimeException {
+    public ReservationNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.product.infrastructure.exception;
+
+public class StockConflictException extends RuntimeException {
+    public StockConflictException(String message) {
+        super(message);
+    }
+}
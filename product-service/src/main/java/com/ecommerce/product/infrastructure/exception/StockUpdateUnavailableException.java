@@ -0,0 +1,7 @@
+package com.ecommerce.product.infrastructure.exception;
+
+public class StockUpdateUnavailableException extends RuntimeException {
+    public StockUpdateUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.product.infrastructure.scheduler;
+
+import com.ecommerce.product.application.usecase.ExpireReservationsUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationExpiryScheduler {
+    private final ExpireReservationsUseCase expireReservationsUseCase;
+
+    @Value("${reservations.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${reservations.expiry.interval-ms:30000}")
+    public void expireReservations() {
+        int total = 0;
+        int expired;
+        // Cada lote corre en su propia transacción; se sigue mientras vengan lotes completos
+        do {
+            expired = expireReservationsUseCase.execute(batchSize);
+            total += expired;
+        } while (expired == batchSize);
+
+        if (total > 0) {
+            log.info("Expired {} stock reservations", total);
+        }
+    }
+}
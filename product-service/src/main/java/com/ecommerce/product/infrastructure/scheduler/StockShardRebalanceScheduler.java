@@ -0,0 +1,18 @@
+package com.ecommerce.product.infrastructure.scheduler;
+
+import com.ecommerce.product.application.usecase.RebalanceStockShardsUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class StockShardRebalanceScheduler {
+    private final RebalanceStockShardsUseCase rebalanceStockShardsUseCase;
+
+    // También fija cuánto tarda products.stock en reflejar las compras de un producto fragmentado
+    @Scheduled(fixedDelayString = "${stock.sharding.rebalance-interval-ms:1000}")
+    public void rebalance() {
+        rebalanceStockShardsUseCase.execute();
+    }
+}
@@ -2,22 +2,24 @@ package com.ecommerce.product.presentation.controller;
 
 import com.ecommerce.product.application.dto.CategoryRequest;
 import com.ecommerce.product.application.dto.CategoryResponse;
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
 import com.ecommerce.product.application.usecase.CreateCategoryUseCase;
 import com.ecommerce.product.application.usecase.ListCategoriesUseCase;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/categories")
 @RequiredArgsConstructor
 public class CategoryController {
     private final CreateCategoryUseCase createCategoryUseCase;
     private final ListCategoriesUseCase listCategoriesUseCase;
+    private final CatalogSnapshotCache catalogSnapshotCache;
 
     @PostMapping
     public ResponseEntity<CategoryResponse> createCategory(@Valid @RequestBody CategoryRequest request) {
@@ -26,7 +28,21 @@ public class CategoryController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> listCategories() {
-        return ResponseEntity.ok(listCategoriesUseCase.execute());
+    public ResponseEntity<byte[]> listCategories(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CatalogSnapshotCache.Generation generation = catalogSnapshotCache.current();
+        CatalogSnapshotCache.Snapshot snapshot = generation.get("categories");
+        if (snapshot == null) {
+            snapshot = generation.put("categories",
+                    catalogSnapshotCache.serialize(listCategoriesUseCase.execute(), null, null));
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+        return response.body(snapshot.getIdentity());
     }
 }
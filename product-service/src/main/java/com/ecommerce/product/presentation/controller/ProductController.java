@@ -1,27 +1,59 @@
 package com.ecommerce.product.presentation.controller;
 
+import com.ecommerce.product.application.dto.ProductFilter;
+import com.ecommerce.product.application.dto.ProductImportResult;
+import com.ecommerce.product.application.dto.ProductPage;
 import com.ecommerce.product.application.dto.ProductRequest;
 import com.ecommerce.product.application.dto.ProductResponse;
+import com.ecommerce.product.application.dto.ProductSearchResult;
+import com.ecommerce.product.application.dto.ProductSuggestion;
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
 import com.ecommerce.product.application.usecase.*;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final CreateProductUseCase createProductUseCase;
     private final UpdateProductUseCase updateProductUseCase;
     private final DeleteProductUseCase deleteProductUseCase;
     private final GetProductUseCase getProductUseCase;
     private final ListProductsUseCase listProductsUseCase;
     private final UpdateStockUseCase updateStockUseCase;
+    private final GetProductsUseCase getProductsUseCase;
+    private final SearchProductsUseCase searchProductsUseCase;
+    private final SuggestProductsUseCase suggestProductsUseCase;
+    private final ConfigureStockShardsUseCase configureStockShardsUseCase;
+    private final ImportProductsUseCase importProductsUseCase;
+    private final ExportProductsUseCase exportProductsUseCase;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+
+    @Value("${products.export.timeout-ms:1800000}")
+    private long exportTimeoutMs;
 
     @PostMapping
     public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody ProductRequest request) {
@@ -29,19 +61,109 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // Carga masiva en streaming: una fila por línea en NDJSON, o CSV con cabecera
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ProductImportResult> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        boolean csv = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"));
+        return ResponseEntity.ok(importProductsUseCase.execute(body, csv));
+    }
+
+    // Descarga del catálogo completo en streaming, sin armar la lista en memoria. Corre como
+    // tarea asíncrona con su propio plazo: puede tardar mucho más que el resto de las peticiones
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportProducts(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=products." + (csv ? "csv" : "ndjson"));
+        return new WebAsyncTask<>(exportTimeoutMs, () -> {
+            exportProductsUseCase.execute(response.getOutputStream(), csv);
+            return null;
+        });
+    }
+
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> listProducts(
+    public ResponseEntity<byte[]> listProducts(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) UUID categoryId,
-            @RequestParam(required = false) String search) {
-        List<ProductResponse> products = listProductsUseCase.execute(status, categoryId, search);
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest webRequest) {
+        boolean gzip = acceptsGzip(webRequest);
+        String key = String.join("|", "products", status, String.valueOf(categoryId), search,
+                String.valueOf(minPrice), String.valueOf(maxPrice), String.valueOf(inStock),
+                String.valueOf(limit), after);
+
+        // Camino caliente: la respuesta ya está serializada en memoria
+        CatalogSnapshotCache.Generation generation = catalogSnapshotCache.current();
+        CatalogSnapshotCache.Snapshot snapshot = generation.get(key);
+        if (snapshot != null) {
+            return toResponse(snapshot, gzip, webRequest);
+        }
+
+        Optional<LocalDateTime> catalogVersion = listProductsUseCase.getCatalogVersion();
+        if (catalogVersion.isPresent() && isNotModified(webRequest, catalogVersion.get(), gzip)) {
+            return notModified();
+        }
+
+        ProductFilter filter = ProductFilter.builder()
+                .status(status)
+                .categoryId(categoryId)
+                .search(search)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .inStock(inStock)
+                .build();
+
+        if (limit == null && after == null) {
+            List<ProductResponse> products = listProductsUseCase.execute(filter);
+            snapshot = catalogSnapshotCache.serialize(products, catalogVersion.orElse(null), null);
+        } else {
+            // Paginado: el cuerpo sigue siendo un arreglo y el cursor siguiente va en la cabecera
+            ProductPage page = listProductsUseCase.execute(filter, limit != null ? limit : DEFAULT_PAGE_SIZE, after);
+            snapshot = catalogSnapshotCache.serialize(page.getItems(), catalogVersion.orElse(null),
+                    page.getNextCursor());
+        }
+
+        return toResponse(generation.put(key, snapshot), gzip, webRequest);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductSearchResult>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchProductsUseCase.execute(q, limit));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestion>> suggestProducts(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggestProductsUseCase.execute(prefix, limit));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<ProductResponse>> getProducts(@RequestBody List<UUID> ids) {
+        List<ProductResponse> products = getProductsUseCase.execute(ids);
         return ResponseEntity.ok(products);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProduct(@PathVariable UUID id) {
+    public ResponseEntity<ProductResponse> getProduct(@PathVariable UUID id, WebRequest webRequest) {
+        // Se compara la versión antes de cargar el producto: un 304 cuesta una lectura por índice
+        if (isNotModified(webRequest, getProductUseCase.getVersion(id), false)) {
+            return notModified();
+        }
         ProductResponse product = getProductUseCase.execute(id);
-        return ResponseEntity.ok(product);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(product);
     }
 
     @PutMapping("/{id}")
@@ -66,4 +188,54 @@ public class ProductController {
         ProductResponse response = updateStockUseCase.execute(id, quantity, isAddition);
         return ResponseEntity.ok(response);
     }
+
+    // Reparte el stock de un producto muy demandado en varios contadores
+    @PutMapping("/{id}/stock/shards")
+    public ResponseEntity<ProductResponse> enableStockShards(
+            @PathVariable UUID id,
+            @RequestParam int count) {
+        return ResponseEntity.ok(configureStockShardsUseCase.enable(id, count));
+    }
+
+    @DeleteMapping("/{id}/stock/shards")
+    public ResponseEntity<ProductResponse> disableStockShards(@PathVariable UUID id) {
+        return ResponseEntity.ok(configureStockShardsUseCase.disable(id));
+    }
+
+    private ResponseEntity<byte[]> toResponse(CatalogSnapshotCache.Snapshot snapshot, boolean gzip,
+            WebRequest webRequest) {
+        if (snapshot.getVersion() != null && isNotModified(webRequest, snapshot.getVersion(), gzip)) {
+            return notModified();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, snapshot.getNextCursor());
+        }
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+        return response.body(snapshot.getIdentity());
+    }
+
+    private boolean acceptsGzip(WebRequest webRequest) {
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    // Fija ETag y Last-Modified en la respuesta y evalúa If-None-Match / If-Modified-Since.
+    // La variante comprimida lleva su propio ETag fuerte
+    private boolean isNotModified(WebRequest webRequest, LocalDateTime version, boolean gzip) {
+        long epochMicros = ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), version);
+        long lastModified = version.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String eTag = "\"" + Long.toHexString(epochMicros) + (gzip ? "-gzip" : "") + "\"";
+        return webRequest.checkNotModified(eTag, lastModified);
+    }
+
+    private <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+    }
 }
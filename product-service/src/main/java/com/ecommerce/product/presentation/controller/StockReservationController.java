@@ -0,0 +1,39 @@
+package com.ecommerce.product.presentation.controller;
+
+import com.ecommerce.product.application.dto.StockReservationRequest;
+import com.ecommerce.product.application.dto.StockReservationResponse;
+import com.ecommerce.product.application.usecase.ConfirmReservationUseCase;
+import com.ecommerce.product.application.usecase.ReleaseReservationUseCase;
+import com.ecommerce.product.application.usecase.ReserveStockUseCase;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/reservations")
+@RequiredArgsConstructor
+public class StockReservationController {
+    private final ReserveStockUseCase reserveStockUseCase;
+    private final ConfirmReservationUseCase confirmReservationUseCase;
+    private final ReleaseReservationUseCase releaseReservationUseCase;
+
+    @PostMapping
+    public ResponseEntity<StockReservationResponse> reserve(@Valid @RequestBody StockReservationRequest request) {
+        StockReservationResponse response = reserveStockUseCase.execute(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<StockReservationResponse> confirm(@PathVariable UUID id) {
+        return ResponseEntity.ok(confirmReservationUseCase.execute(id));
+    }
+
+    @PostMapping("/{id}/release")
+    public ResponseEntity<StockReservationResponse> release(@PathVariable UUID id) {
+        return ResponseEntity.ok(releaseReservationUseCase.execute(id));
+    }
+}
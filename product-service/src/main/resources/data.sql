@@ -1,3 +1,7 @@
+-- Índice trigram para la búsqueda por nombre (lower(name) LIKE '%...%')
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING gin (lower(name) gin_trgm_ops);
+
 -- Categorías
 INSERT INTO categories (id, name, description, created_at) VALUES
 ('a1b2c3d4-e5f6-4a5b-8c9d-0e1f2a3b4c5d', 'Electrónica', 'Dispositivos electrónicos y accesorios', NOW()),
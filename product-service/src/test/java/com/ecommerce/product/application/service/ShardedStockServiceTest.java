@@ -0,0 +1,146 @@
+package com.ecommerce.product.application.service;
+
+import com.ecommerce.product.domain.model.Product;
+import com.ecommerce.product.domain.model.ProductStatus;
+import com.ecommerce.product.domain.model.StockShard;
+import com.ecommerce.product.domain.repository.ProductRepository;
+import com.ecommerce.product.domain.repository.StockShardRepository;
+import com.ecommerce.product.infrastructure.exception.InsufficientStockException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// En un producto fragmentado el stock es la suma de sus contadores: las compras, devoluciones y
+// ajustes la mantienen exacta y products.stock la refleja al sincronizar
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ShardedStockService.class)
+@Testcontainers
+class ShardedStockServiceTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private ShardedStockService shardedStockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockShardRepository stockShardRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void reserveTakesFromSeveralShardsWhenNoSingleOneIsEnough() {
+        UUID productId = saveShardedProduct(3, 3, 2, 2);
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(shardedStockService.reserve(productId, 9, now)).isTrue();
+        assertThat(shardTotal(productId)).isEqualTo(1);
+
+        assertThat(shardedStockService.reserve(productId, 2, now)).isFalse();
+        assertThat(shardTotal(productId)).isEqualTo(1);
+    }
+
+    @Test
+    void restockGoesToTheShardsAndNotToTheProductRow() {
+        UUID productId = saveShardedProduct(1, 1, 1, 1);
+
+        shardedStockService.restock(productId, 5, LocalDateTime.now());
+
+        assertThat(shardTotal(productId)).isEqualTo(9);
+        assertThat(product(productId).getStock()).isEqualTo(4);
+    }
+
+    @Test
+    void outOfStockIsDecidedFromTheShardSum() {
+        UUID drained = saveShardedProduct(0, 0, 0, 0);
+        UUID stocked = saveShardedProduct(0, 0, 0, 1);
+        // products.stock quedó con el valor de la última sincronización
+        productRepository.syncStock(drained, 10, LocalDateTime.now());
+        productRepository.syncStock(stocked, 10, LocalDateTime.now());
+
+        shardedStockService.markOutOfStock(List.of(drained, stocked), LocalDateTime.now());
+
+        Product drainedProduct = product(drained);
+        assertThat(drainedProduct.getStock()).isZero();
+        assertThat(drainedProduct.getStatus()).isEqualTo(ProductStatus.OUT_OF_STOCK);
+        assertThat(product(stocked).getStatus()).isEqualTo(ProductStatus.ACTIVE);
+    }
+
+    @Test
+    void adjustRedistributesEvenlyAndSyncsTheProduct() {
+        UUID productId = saveShardedProduct(5, 0, 0, 0);
+
+        shardedStockService.adjust(productId, 4, LocalDateTime.now());
+
+        assertThat(stockShardRepository.findStocksByProductId(productId)).containsExactlyInAnyOrder(3, 2, 2, 2);
+        assertThat(product(productId).getStock()).isEqualTo(9);
+    }
+
+    @Test
+    void adjustNeverLeavesTheSumBelowZero() {
+        UUID productId = saveShardedProduct(1, 1, 0, 0);
+
+        assertThatThrownBy(() -> shardedStockService.adjust(productId, -3, LocalDateTime.now()))
+                .isInstanceOf(InsufficientStockException.class);
+        assertThat(shardTotal(productId)).isEqualTo(2);
+    }
+
+    private UUID saveShardedProduct(int... stocks) {
+        int total = 0;
+        for (int stock : stocks) {
+            total += stock;
+        }
+        Product product = productRepository.save(Product.builder()
+                .name("Flash sale")
+                .price(BigDecimal.TEN)
+                .stock(total)
+                .stockShards(stocks.length)
+                .build());
+        for (int i = 0; i < stocks.length; i++) {
+            stockShardRepository.save(StockShard.builder()
+                    .productId(product.getId())
+                    .shard(i)
+                    .stock(stocks[i])
+                    .build());
+        }
+        entityManager.flush();
+        return product.getId();
+    }
+
+    // Los UPDATE masivos no pasan por el contexto de persistencia: se relee desde la base
+    private int shardTotal(UUID productId) {
+        entityManager.flush();
+        entityManager.clear();
+        return stockShardRepository.findStocksByProductId(productId).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private Product product(UUID productId) {
+        entityManager.flush();
+        entityManager.clear();
+        return productRepository.findById(productId).orElseThrow();
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.product.application.service;
+
+import com.ecommerce.product.domain.repository.ProductRepository;
+import com.ecommerce.product.infrastructure.exception.StockUpdateUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Una petición que vence esperando solo responde 503 si su ajuste no entró en ningún lote; si ya
+// entró, espera el commit para no hacer que el cliente reintente un cambio que igual se aplica
+@ExtendWith(MockitoExtension.class)
+class StockAdjustmentCoalescerTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CatalogSnapshotCache catalogSnapshotCache;
+
+    @Mock
+    private ProductEventPublisher productEventPublisher;
+
+    private StockAdjustmentCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        coalescer = new StockAdjustmentCoalescer(productRepository, transactionTemplate, catalogSnapshotCache,
+                productEventPublisher);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        coalescer.stop();
+    }
+
+    @Test
+    void claimedAdjustmentWaitsForTheCommitInsteadOfTimingOut() throws Exception {
+        start(1);
+        UUID productId = UUID.randomUUID();
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        when(productRepository.adjustStock(eq(productId), eq(-2), any())).thenAnswer(invocation -> {
+            flushing.countDown();
+            commit.await();
+            return 1;
+        });
+
+        CompletableFuture<Void> request = CompletableFuture.runAsync(() -> coalescer.adjust(productId, -2, 50));
+        assertThat(flushing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // El lote sigue abierto mucho después del plazo de la petición
+        Thread.sleep(200);
+        assertThat(request).isNotDone();
+
+        commit.countDown();
+        request.get(5, TimeUnit.SECONDS);
+        verify(productRepository).adjustStock(eq(productId), eq(-2), any());
+    }
+
+    @Test
+    void unclaimedAdjustmentThatTimesOutIsNeverApplied() throws Exception {
+        // Ningún lote sale antes de que venza la petición
+        start(60_000);
+        UUID productId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> coalescer.adjust(productId, -2, 50))
+                .isInstanceOf(StockUpdateUnavailableException.class);
+
+        // Al apagarse se vacían las franjas: el ajuste descartado no se aplica
+        coalescer.stop();
+        verify(productRepository, never()).adjustStock(any(), anyInt(), any());
+    }
+
+    @Test
+    void adjustmentsAfterShutdownAreRejected() throws Exception {
+        start(60_000);
+        coalescer.stop();
+
+        assertThatThrownBy(() -> coalescer.adjust(UUID.randomUUID(), 1, 1000))
+                .isInstanceOf(StockUpdateUnavailableException.class);
+        verify(productRepository, never()).adjustStock(any(), anyInt(), any());
+    }
+
+    private void start(long flushIntervalMs) {
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "stripeCount", 1);
+        ReflectionTestUtils.setField(coalescer, "flushIntervalMs", flushIntervalMs);
+        ReflectionTestUtils.setField(coalescer, "flushThreads", 1);
+        coalescer.start();
+    }
+}
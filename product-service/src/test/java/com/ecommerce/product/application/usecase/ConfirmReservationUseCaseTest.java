@@ -0,0 +1,126 @@
+package com.ecommerce.product.application.usecase;
+
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
+import com.ecommerce.product.application.service.ProductEventPublisher;
+import com.ecommerce.product.application.service.ProductSuggestionIndex;
+import com.ecommerce.product.application.service.ReservationRejectionPublisher;
+import com.ecommerce.product.application.service.ShardedStockService;
+import com.ecommerce.product.domain.model.ReservationItem;
+import com.ecommerce.product.domain.model.ReservationStatus;
+import com.ecommerce.product.domain.model.StockReservation;
+import com.ecommerce.product.domain.repository.StockReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// Confirmaciones que llegan por Kafka después de que la reserva venció
+@ExtendWith(MockitoExtension.class)
+class ConfirmReservationUseCaseTest {
+    private static final UUID RESERVATION_ID = UUID.randomUUID();
+    private static final UUID ORDER_ID = UUID.randomUUID();
+    private static final UUID FIRST_PRODUCT = new UUID(0, 1);
+    private static final UUID SECOND_PRODUCT = new UUID(0, 2);
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private ProductSuggestionIndex productSuggestionIndex;
+
+    @Mock
+    private CatalogSnapshotCache catalogSnapshotCache;
+
+    @Mock
+    private ProductEventPublisher productEventPublisher;
+
+    @Mock
+    private ShardedStockService shardedStockService;
+
+    @Mock
+    private ReservationRejectionPublisher reservationRejectionPublisher;
+
+    @InjectMocks
+    private ConfirmReservationUseCase confirmReservationUseCase;
+
+    @Test
+    void expiredReservationIsReclaimedWhenStockIsStillThere() {
+        givenExpiredReservation();
+        when(shardedStockService.reserve(eq(FIRST_PRODUCT), eq(2), any())).thenReturn(true);
+        when(shardedStockService.reserve(eq(SECOND_PRODUCT), eq(3), any())).thenReturn(true);
+
+        confirmReservationUseCase.confirmCommittedOrder(RESERVATION_ID, ORDER_ID);
+
+        verify(shardedStockService).markOutOfStock(eq(List.of(FIRST_PRODUCT, SECOND_PRODUCT)), any());
+        verify(productSuggestionIndex).recordSales(FIRST_PRODUCT, 2);
+        verify(productSuggestionIndex).recordSales(SECOND_PRODUCT, 3);
+        verifyNoInteractions(reservationRejectionPublisher);
+    }
+
+    @Test
+    void failedReclaimReturnsWhatItTookReleasesAndRejectsTheOrder() {
+        givenExpiredReservation();
+        when(shardedStockService.reserve(eq(FIRST_PRODUCT), eq(2), any())).thenReturn(true);
+        when(shardedStockService.reserve(eq(SECOND_PRODUCT), eq(3), any())).thenReturn(false);
+        when(stockReservationRepository.transition(eq(RESERVATION_ID), eq(List.of(ReservationStatus.CONFIRMED)),
+                eq(ReservationStatus.RELEASED), any())).thenReturn(1);
+
+        confirmReservationUseCase.confirmCommittedOrder(RESERVATION_ID, ORDER_ID);
+
+        verify(shardedStockService).restock(eq(FIRST_PRODUCT), eq(2), any());
+        verify(stockReservationRepository).transition(eq(RESERVATION_ID), eq(List.of(ReservationStatus.CONFIRMED)),
+                eq(ReservationStatus.RELEASED), any());
+        verify(reservationRejectionPublisher).publishAfterCommit(eq(RESERVATION_ID), eq(ORDER_ID), anyString());
+        verify(shardedStockService, never()).markOutOfStock(any(), any());
+        verifyNoInteractions(productSuggestionIndex);
+    }
+
+    @Test
+    void lateConfirmationOfReleasedReservationDoesNothing() {
+        when(stockReservationRepository.transition(eq(RESERVATION_ID), eq(List.of(ReservationStatus.RESERVED)),
+                eq(ReservationStatus.CONFIRMED), any())).thenReturn(0);
+        when(stockReservationRepository.findByIdWithItems(RESERVATION_ID))
+                .thenReturn(Optional.of(reservation(ReservationStatus.RELEASED)));
+
+        confirmReservationUseCase.confirmCommittedOrder(RESERVATION_ID, ORDER_ID);
+
+        verify(shardedStockService, never()).reserve(any(), anyInt(), any());
+        verifyNoInteractions(productSuggestionIndex, reservationRejectionPublisher);
+    }
+
+    private void givenExpiredReservation() {
+        when(stockReservationRepository.transition(eq(RESERVATION_ID), eq(List.of(ReservationStatus.RESERVED)),
+                eq(ReservationStatus.CONFIRMED), any())).thenReturn(0);
+        when(stockReservationRepository.findByIdWithItems(RESERVATION_ID))
+                .thenReturn(Optional.of(reservation(ReservationStatus.EXPIRED)));
+        when(stockReservationRepository.transition(eq(RESERVATION_ID), eq(List.of(ReservationStatus.EXPIRED)),
+                eq(ReservationStatus.CONFIRMED), any())).thenReturn(1);
+    }
+
+    private StockReservation reservation(ReservationStatus status) {
+        StockReservation reservation = StockReservation.builder()
+                .id(RESERVATION_ID)
+                .status(status)
+                .expiresAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+        // Desordenados a propósito: el descuento sigue el orden por ID de producto
+        reservation.getItems().add(new ReservationItem(SECOND_PRODUCT, 3));
+        reservation.getItems().add(new ReservationItem(FIRST_PRODUCT, 2));
+        return reservation;
+    }
+}
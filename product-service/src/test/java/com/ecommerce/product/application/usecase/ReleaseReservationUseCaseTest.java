@@ -0,0 +1,91 @@
+package com.ecommerce.product.application.usecase;
+
+import com.ecommerce.product.application.service.CatalogSnapshotCache;
+import com.ecommerce.product.application.service.ProductEventPublisher;
+import com.ecommerce.product.application.service.ShardedStockService;
+import com.ecommerce.product.domain.model.ReservationItem;
+import com.ecommerce.product.domain.model.ReservationStatus;
+import com.ecommerce.product.domain.model.StockReservation;
+import com.ecommerce.product.domain.repository.ProductRepository;
+import com.ecommerce.product.domain.repository.StockReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReleaseReservationUseCaseTest {
+    private static final UUID RESERVATION_ID = UUID.randomUUID();
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private CatalogSnapshotCache catalogSnapshotCache;
+
+    @Mock
+    private ProductEventPublisher productEventPublisher;
+
+    @Mock
+    private ShardedStockService shardedStockService;
+
+    @InjectMocks
+    private ReleaseReservationUseCase releaseReservationUseCase;
+
+    @Test
+    void releasingAnActiveReservationReturnsItsStock() {
+        givenTransitions(1, 0);
+
+        releaseReservationUseCase.execute(RESERVATION_ID);
+
+        verify(shardedStockService).restock(eq(PRODUCT_ID), eq(4), any());
+        verify(productRepository).reactivateRestocked(List.of(PRODUCT_ID));
+    }
+
+    // El barrido de vencidas ya devolvió el stock; la reserva pasa igual a RELEASED para que una
+    // confirmación tardía no la recupere
+    @Test
+    void releasingAnExpiredReservationMakesItFinalWithoutRestocking() {
+        givenTransitions(0, 1);
+
+        releaseReservationUseCase.execute(RESERVATION_ID);
+
+        verify(stockReservationRepository).transition(eq(RESERVATION_ID), eq(List.of(ReservationStatus.EXPIRED)),
+                eq(ReservationStatus.RELEASED), any());
+        verifyNoInteractions(shardedStockService, productRepository, productEventPublisher);
+    }
+
+    private void givenTransitions(int fromActive, int fromExpired) {
+        when(stockReservationRepository.transition(eq(RESERVATION_ID),
+                eq(List.of(ReservationStatus.RESERVED, ReservationStatus.CONFIRMED)),
+                eq(ReservationStatus.RELEASED), any())).thenReturn(fromActive);
+        if (fromActive == 0) {
+            when(stockReservationRepository.transition(eq(RESERVATION_ID), eq(List.of(ReservationStatus.EXPIRED)),
+                    eq(ReservationStatus.RELEASED), any())).thenReturn(fromExpired);
+        }
+
+        StockReservation reservation = StockReservation.builder()
+                .id(RESERVATION_ID)
+                .status(ReservationStatus.RELEASED)
+                .expiresAt(LocalDateTime.now())
+                .build();
+        reservation.getItems().add(new ReservationItem(PRODUCT_ID, 4));
+        when(stockReservationRepository.findByIdWithItems(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.product.domain.repository;
+
+import com.ecommerce.product.domain.model.Category;
+import com.ecommerce.product.domain.model.Product;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Los listados y la consulta por lote cargan la categoría con un fetch join: la cantidad de
+// sentencias no depende de cuántos productos o categorías haya
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+class ProductRepositoryQueryCountTest {
+    private static final int PRODUCTS = 1000;
+    private static final int CATEGORIES = 20;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private List<UUID> productIds;
+
+    @BeforeEach
+    void seed() {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories.add(categoryRepository.save(Category.builder().name("Category " + i).build()));
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder()
+                    .name("Product " + i)
+                    .price(BigDecimal.valueOf(10 + i))
+                    .stock(100)
+                    .category(categories.get(i % CATEGORIES))
+                    .build());
+        }
+        productIds = productRepository.saveAll(products).stream()
+                .map(Product::getId)
+                .collect(Collectors.toList());
+
+        // Nada queda en el contexto de persistencia: cada lectura tiene que ir a la base de datos
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listingLoadsCategoriesInTheSameStatement() {
+        Statistics statistics = statistics();
+
+        List<String> categoryNames = productRepository.findAll(ProductSpecifications.fetchCategory()).stream()
+                .map(product -> product.getCategory().getName())
+                .collect(Collectors.toList());
+
+        assertThat(categoryNames).hasSize(PRODUCTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void batchLookupLoadsCategoriesInTheSameStatement() {
+        Statistics statistics = statistics();
+
+        List<String> categoryNames = productRepository.findAllWithCategoryByIdIn(productIds).stream()
+                .map(product -> product.getCategory().getName())
+                .collect(Collectors.toList());
+
+        assertThat(categoryNames).hasSize(PRODUCTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,139 @@
+package com.ecommerce.product.domain.repository;
+
+import com.ecommerce.product.domain.model.Product;
+import com.ecommerce.product.domain.model.ReservationItem;
+import com.ecommerce.product.domain.model.ReservationStatus;
+import com.ecommerce.product.domain.model.StockReservation;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Las reservas se apoyan en UPDATE condicionales: el stock nunca queda negativo y cada cambio de
+// estado lo gana una sola llamada
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+class StockReservationRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void decrementNeverLeavesStockBelowZero() {
+        UUID productId = saveProduct(5);
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(productRepository.decrementStock(productId, 3, now)).isEqualTo(1);
+        assertThat(productRepository.decrementStock(productId, 3, now)).isZero();
+
+        assertThat(stockOf(productId)).isEqualTo(2);
+    }
+
+    @Test
+    void decrementSkipsShardedProducts() {
+        UUID productId = saveProduct(10);
+        Product product = productRepository.findById(productId).orElseThrow();
+        product.setStockShards(4);
+        entityManager.flush();
+
+        assertThat(productRepository.decrementStock(productId, 1, LocalDateTime.now())).isZero();
+        assertThat(stockOf(productId)).isEqualTo(10);
+    }
+
+    @Test
+    void onlyTheFirstTransitionWins() {
+        UUID reservationId = saveReservation(ReservationStatus.RESERVED, LocalDateTime.now().plusMinutes(15));
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(stockReservationRepository.transition(reservationId, List.of(ReservationStatus.RESERVED),
+                ReservationStatus.CONFIRMED, now)).isEqualTo(1);
+        assertThat(stockReservationRepository.transition(reservationId, List.of(ReservationStatus.RESERVED),
+                ReservationStatus.CONFIRMED, now)).isZero();
+        assertThat(stockReservationRepository.transition(reservationId, List.of(ReservationStatus.RESERVED),
+                ReservationStatus.RELEASED, now)).isZero();
+
+        assertThat(statusOf(reservationId)).isEqualTo(ReservationStatus.CONFIRMED);
+    }
+
+    @Test
+    void releasedIsFinalForLateConfirmations() {
+        UUID reservationId = saveReservation(ReservationStatus.EXPIRED, LocalDateTime.now().minusMinutes(1));
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(stockReservationRepository.transition(reservationId, List.of(ReservationStatus.EXPIRED),
+                ReservationStatus.RELEASED, now)).isEqualTo(1);
+        assertThat(stockReservationRepository.transition(reservationId, List.of(ReservationStatus.EXPIRED),
+                ReservationStatus.CONFIRMED, now)).isZero();
+
+        assertThat(statusOf(reservationId)).isEqualTo(ReservationStatus.RELEASED);
+    }
+
+    @Test
+    void expirySweepOnlyLocksReservedAndExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        UUID expired = saveReservation(ReservationStatus.RESERVED, now.minusMinutes(1));
+        saveReservation(ReservationStatus.RESERVED, now.plusMinutes(15));
+        saveReservation(ReservationStatus.CONFIRMED, now.minusMinutes(1));
+        saveReservation(ReservationStatus.RELEASED, now.minusMinutes(1));
+
+        assertThat(stockReservationRepository.lockExpiredIds(now, 100)).containsExactly(expired);
+    }
+
+    private UUID saveProduct(int stock) {
+        Product product = productRepository.save(Product.builder()
+                .name("Product")
+                .price(BigDecimal.TEN)
+                .stock(stock)
+                .build());
+        entityManager.flush();
+        return product.getId();
+    }
+
+    private UUID saveReservation(ReservationStatus status, LocalDateTime expiresAt) {
+        StockReservation reservation = StockReservation.builder()
+                .status(status)
+                .expiresAt(expiresAt)
+                .build();
+        reservation.getItems().add(new ReservationItem(UUID.randomUUID(), 1));
+        UUID id = stockReservationRepository.save(reservation).getId();
+        entityManager.flush();
+        return id;
+    }
+
+    // Los UPDATE masivos no pasan por el contexto de persistencia: se relee desde la base
+    private int stockOf(UUID productId) {
+        entityManager.clear();
+        return productRepository.findById(productId).orElseThrow().getStock();
+    }
+
+    private ReservationStatus statusOf(UUID reservationId) {
+        entityManager.clear();
+        return stockReservationRepository.findById(reservationId).orElseThrow().getStatus();
+    }
+}